@@ -1,5 +1,6 @@
 plugins {
     id("java")
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "org.example"
@@ -9,12 +10,30 @@ repositories {
     mavenCentral()
 }
 
+val processor by sourceSets.creating
+
 dependencies {
+    annotationProcessor(processor.output)
+    testAnnotationProcessor(processor.output)
+
     testImplementation(platform("org.junit:junit-bom:5.10.0"))
     testImplementation("org.junit.jupiter:junit-jupiter")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
+tasks.withType<JavaCompile>().configureEach {
+    options.compilerArgs.add("-parameters")
+}
+
 tasks.test {
     useJUnitPlatform()
-}
\ No newline at end of file
+}
+
+jmh {
+    jmhVersion = "1.37"
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    profilers.add("gc")
+    resultFormat = "JSON"
+}
@@ -0,0 +1,40 @@
+package org.example.generator;
+
+import org.example.classes.Cart;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BulkGenerationBenchmark {
+    private static final int BATCH_SIZE = 100_000;
+
+    private Generator generator;
+
+    @Setup
+    public void setUp() {
+        generator = new Generator();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<Cart> sequentialCarts() {
+        return generator.generate(Cart.class, BATCH_SIZE);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<Cart> parallelCarts() {
+        return generator.generateParallel(Cart.class, BATCH_SIZE);
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.generator;
+
+import org.example.classes.BinaryTreeNode;
+import org.example.classes.Cart;
+import org.example.classes.Example;
+import org.example.classes.Person;
+import org.example.classes.Product;
+import org.example.classes.Rectangle;
+import org.example.classes.Shape;
+import org.example.classes.Triangle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class GeneratorBenchmark {
+    @Param({"REFLECTION", "METHOD_HANDLE", "SPECIALIZED", "HIDDEN_CLASS"})
+    private InvocationBackend backend;
+
+    private Generator generator;
+
+    @Setup
+    public void setUp() throws Exception {
+        generator = Generator.builder()
+                .invocationBackend(backend)
+                .build();
+        // Warm the implementation index so the first Shape iteration does not measure the scan
+        generator.generateValueOfType(Shape.class);
+    }
+
+    @Benchmark
+    public Object primitiveInt() throws Exception {
+        return generator.generateValueOfType(int.class);
+    }
+
+    @Benchmark
+    public Object primitiveDouble() throws Exception {
+        return generator.generateValueOfType(double.class);
+    }
+
+    @Benchmark
+    public Object string() throws Exception {
+        return generator.generateValueOfType(String.class);
+    }
+
+    @Benchmark
+    public Object flatProduct() throws Exception {
+        return generator.generateValueOfType(Product.class);
+    }
+
+    @Benchmark
+    public Object flatExample() throws Exception {
+        return generator.generateValueOfType(Example.class);
+    }
+
+    @Benchmark
+    public Object flatRectangle() throws Exception {
+        return generator.generateValueOfType(Rectangle.class);
+    }
+
+    @Benchmark
+    public Object flatTriangle() throws Exception {
+        return generator.generateValueOfType(Triangle.class);
+    }
+
+    @Benchmark
+    public Object interfaceShape() throws Exception {
+        return generator.generateValueOfType(Shape.class);
+    }
+
+    @Benchmark
+    public Object collectionCart() throws Exception {
+        return generator.generateValueOfType(Cart.class);
+    }
+
+    @Benchmark
+    public Object cyclicPerson() throws Exception {
+        return generator.generateValueOfType(Person.class);
+    }
+
+    @Benchmark
+    public Object recursiveBinaryTree() throws Exception {
+        return generator.generateValueOfType(BinaryTreeNode.class);
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.generator;
+
+import org.example.classes.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+// Run with -prof gc to compare the allocation rate of recycling against constructing a fresh Product
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class InstancePoolBenchmark {
+    private Generator generator;
+    private InstancePool<Product> pool;
+
+    @Setup
+    public void setUp() {
+        generator = Generator.builder().stringPool(Product.class, "name", 16).build();
+        pool = generator.pool(Product.class, 1);
+    }
+
+    @Benchmark
+    public Object generate() throws Exception {
+        return generator.generateValueOfType(Product.class);
+    }
+
+    @Benchmark
+    public Object recycle() {
+        Product product = pool.acquire();
+        pool.release(product);
+        return product;
+    }
+}
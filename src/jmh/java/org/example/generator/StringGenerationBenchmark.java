@@ -0,0 +1,52 @@
+package org.example.generator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StringGenerationBenchmark {
+    @Param({"10", "1000"})
+    private int length;
+
+    private SplittableRandom random;
+    private StringGenerator lowercase;
+    private StringGenerator alphanumeric;
+
+    @Setup
+    public void setUp() {
+        random = new SplittableRandom(42);
+        lowercase = new StringGenerator(Alphabet.LOWERCASE);
+        alphanumeric = new StringGenerator(Alphabet.ALPHANUMERIC);
+    }
+
+    // The StringBuilder implementation the generator used before StringGenerator
+    @Benchmark
+    public String stringBuilderBaseline() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('a' + random.nextInt(26)));
+        }
+        return sb.toString();
+    }
+
+    @Benchmark
+    public String latin1Lowercase() {
+        return lowercase.generate(random, length);
+    }
+
+    @Benchmark
+    public String latin1Alphanumeric() {
+        return alphanumeric.generate(random, length);
+    }
+}
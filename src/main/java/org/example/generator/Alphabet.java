@@ -0,0 +1,74 @@
+package org.example.generator;
+
+public final class Alphabet {
+    public static final Alphabet LOWERCASE = range('a', 'z');
+    public static final Alphabet ALPHANUMERIC = of("ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789");
+    public static final Alphabet ASCII_PRINTABLE = range(' ', '~');
+
+    private final char[] characters;
+    private final byte[] latin1;
+
+    private Alphabet(char[] characters) {
+        if (characters.length == 0) {
+            throw new IllegalArgumentException("Alphabet must not be empty");
+        }
+
+        this.characters = characters;
+
+        boolean isLatin1 = true;
+        for (char c : characters) {
+            if (c > 0xFF) {
+                isLatin1 = false;
+                break;
+            }
+        }
+
+        if (isLatin1) {
+            latin1 = new byte[characters.length];
+            for (int i = 0; i < characters.length; i++) {
+                latin1[i] = (byte) characters[i];
+            }
+        } else {
+            latin1 = null;
+        }
+    }
+
+    // Characters are drawn one char at a time, so a supplementary character would be split into lone surrogates
+    public static Alphabet of(String characters) {
+        for (int i = 0; i < characters.length(); i++) {
+            if (Character.isSurrogate(characters.charAt(i))) {
+                throw new IllegalArgumentException(String.format(
+                        "Alphabet must not contain surrogates or supplementary characters, found U+%04X at index %d",
+                        characters.codePointAt(i), i));
+            }
+        }
+        return new Alphabet(characters.toCharArray());
+    }
+
+    public static Alphabet range(char first, char last) {
+        if (last < first) {
+            throw new IllegalArgumentException("Invalid character range [" + first + ", " + last + "]");
+        }
+        if (first <= Character.MAX_SURROGATE && last >= Character.MIN_SURROGATE) {
+            throw new IllegalArgumentException("Character range must not contain surrogates");
+        }
+
+        char[] characters = new char[last - first + 1];
+        for (int i = 0; i < characters.length; i++) {
+            characters[i] = (char) (first + i);
+        }
+        return new Alphabet(characters);
+    }
+
+    int size() {
+        return characters.length;
+    }
+
+    char[] characters() {
+        return characters;
+    }
+
+    byte[] latin1() {
+        return latin1;
+    }
+}
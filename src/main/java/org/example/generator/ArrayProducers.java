@@ -0,0 +1,144 @@
+package org.example.generator;
+
+import org.example.generator.PrimitiveProducers.BooleanProducer;
+import org.example.generator.PrimitiveProducers.CharProducer;
+import org.example.generator.PrimitiveProducers.DoubleProducer;
+import org.example.generator.PrimitiveProducers.FloatProducer;
+import org.example.generator.PrimitiveProducers.IntProducer;
+import org.example.generator.PrimitiveProducers.LongProducer;
+import org.example.generator.PrimitiveProducers.ShortProducer;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+
+final class ArrayProducers {
+    private ArrayProducers() {
+    }
+
+    static ValueProducer forComponent(Class<?> componentType, ValueProducer elementProducer, SizeDistribution lengths) {
+        if (componentType == int.class) {
+            IntProducer element = (IntProducer) elementProducer;
+            return (context, depth) -> {
+                int[] array = new int[lengths.sample(context.random())];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = element.produceInt(context);
+                }
+                return array;
+            };
+        }
+        if (componentType == long.class) {
+            LongProducer element = (LongProducer) elementProducer;
+            return (context, depth) -> {
+                long[] array = new long[lengths.sample(context.random())];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = element.produceLong(context);
+                }
+                return array;
+            };
+        }
+        if (componentType == double.class) {
+            DoubleProducer element = (DoubleProducer) elementProducer;
+            return (context, depth) -> {
+                double[] array = new double[lengths.sample(context.random())];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = element.produceDouble(context);
+                }
+                return array;
+            };
+        }
+        if (componentType == float.class) {
+            FloatProducer element = (FloatProducer) elementProducer;
+            return (context, depth) -> {
+                float[] array = new float[lengths.sample(context.random())];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = element.produceFloat(context);
+                }
+                return array;
+            };
+        }
+        if (componentType == boolean.class) {
+            BooleanProducer element = (BooleanProducer) elementProducer;
+            return (context, depth) -> {
+                boolean[] array = new boolean[lengths.sample(context.random())];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = element.produceBoolean(context);
+                }
+                return array;
+            };
+        }
+        if (componentType == byte.class) {
+            // Every byte value is equally likely, so the whole buffer can be filled in one call
+            return (context, depth) -> {
+                byte[] array = new byte[lengths.sample(context.random())];
+                context.random().nextBytes(array);
+                return array;
+            };
+        }
+        if (componentType == short.class) {
+            ShortProducer element = (ShortProducer) elementProducer;
+            return (context, depth) -> {
+                short[] array = new short[lengths.sample(context.random())];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = element.produceShort(context);
+                }
+                return array;
+            };
+        }
+        if (componentType == char.class) {
+            CharProducer element = (CharProducer) elementProducer;
+            return (context, depth) -> {
+                char[] array = new char[lengths.sample(context.random())];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = element.produceChar(context);
+                }
+                return array;
+            };
+        }
+
+        return new ObjectArrayProducer(componentType, elementProducer, lengths);
+    }
+
+    private static final class ObjectArrayProducer implements CompositeProducer {
+        private final Class<?> componentType;
+        private final ValueProducer elementProducer;
+        private final SizeDistribution lengths;
+
+        ObjectArrayProducer(Class<?> componentType, ValueProducer elementProducer, SizeDistribution lengths) {
+            this.componentType = componentType;
+            this.elementProducer = elementProducer;
+            this.lengths = lengths;
+        }
+
+        @Override
+        public Object produce(GenerationContext context, int depth) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+            Object[] elements = (Object[]) Array.newInstance(componentType, lengths.sample(context.random()));
+            for (int i = 0; i < elements.length; i++) {
+                elements[i] = elementProducer.produce(context, depth);
+            }
+            return elements;
+        }
+
+        @Override
+        public void emit(GenerationContext context, int depth, ValueWriter writer) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+            int length = lengths.sample(context.random());
+            writer.beginArray(length);
+            for (int i = 0; i < length; i++) {
+                elementProducer.emit(context, depth, writer);
+            }
+            writer.endArray();
+        }
+
+        @Override
+        public Expansion expand(GenerationContext context, int depth) {
+            ValueProducer[] children = new ValueProducer[lengths.sample(context.random())];
+            Arrays.fill(children, elementProducer);
+
+            return Expansion.of(children, depth, values -> {
+                Object[] elements = (Object[]) Array.newInstance(componentType, values.length);
+                System.arraycopy(values, 0, elements, 0, values.length);
+                return elements;
+            });
+        }
+    }
+}
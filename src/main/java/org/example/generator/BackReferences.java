@@ -0,0 +1,97 @@
+package org.example.generator;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+
+final class BackReferences {
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Class<?>[] types;
+    private final MethodHandle[] setters;
+
+    private BackReferences(Class<?>[] types, MethodHandle[] setters) {
+        this.types = types;
+        this.setters = setters;
+    }
+
+    static BackReferences resolve(Constructor<?> constructor) {
+        Class<?> owner = constructor.getDeclaringClass();
+        Parameter[] parameters = constructor.getParameters();
+        Class<?>[] types = constructor.getParameterTypes();
+        MethodHandle[] setters = new MethodHandle[types.length];
+
+        for (int i = 0; i < types.length; i++) {
+            if (!types[i].isPrimitive() && !types[i].isArray()) {
+                setters[i] = resolveSetter(owner, parameters[i].getName(), types[i]);
+            }
+        }
+        return new BackReferences(types, setters);
+    }
+
+    void defer(GenerationContext context, Object holder, Class<?>[] targets) {
+        for (int i = 0; i < Math.min(targets.length, setters.length); i++) {
+            // Targets recorded below a container parameter belong to its elements and cannot be patched here
+            if (targets[i] != null && setters[i] != null && types[i].isAssignableFrom(targets[i])) {
+                context.deferBackReference(targets[i], holder, setters[i]);
+            }
+        }
+    }
+
+    // Prefer a setter named after the constructor parameter, then a field with that name, then the only field of that type
+    private static MethodHandle resolveSetter(Class<?> owner, String name, Class<?> type) {
+        String setterName = "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for (Class<?> c = owner; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Method method : c.getDeclaredMethods()) {
+                if (method.getName().equals(setterName) && method.getParameterCount() == 1
+                        && !Modifier.isStatic(method.getModifiers())
+                        && method.getParameterTypes()[0].isAssignableFrom(type)) {
+                    MethodHandle handle = unreflect(method);
+                    if (handle != null) {
+                        return handle;
+                    }
+                }
+            }
+        }
+
+        Field candidate = null;
+        int candidates = 0;
+        for (Class<?> c = owner; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || !field.getType().isAssignableFrom(type)) {
+                    continue;
+                }
+                if (field.getName().equals(name)) {
+                    return unreflect(field);
+                }
+                candidate = field;
+                candidates++;
+            }
+        }
+        return candidates == 1 ? unreflect(candidate) : null;
+    }
+
+    private static MethodHandle unreflect(Method method) {
+        try {
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method).asType(SETTER_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    // Final instance fields can be written once made accessible, except on records and hidden classes
+    private static MethodHandle unreflect(Field field) {
+        try {
+            field.setAccessible(true);
+            return MethodHandles.lookup().unreflectSetter(field).asType(SETTER_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+}
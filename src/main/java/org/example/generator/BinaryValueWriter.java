@@ -0,0 +1,111 @@
+package org.example.generator;
+
+import java.nio.charset.StandardCharsets;
+
+// Records are concatenated without framing. Objects, arrays and strings start with a presence byte
+// (0 for null); arrays and strings then carry an int length. Primitives are fixed-width big-endian,
+// and the implementation chosen for an interface is prefixed with its index as an int.
+final class BinaryValueWriter extends ValueWriter {
+    private static final byte NULL = 0;
+    private static final byte PRESENT = 1;
+
+    private final ChannelOutput output;
+
+    BinaryValueWriter(ChannelOutput output) {
+        this.output = output;
+    }
+
+    @Override
+    void beginRecord() {
+    }
+
+    @Override
+    void endRecord() {
+    }
+
+    @Override
+    void beginObject(int fieldCount) {
+        output.put(PRESENT);
+    }
+
+    @Override
+    void name(String name) {
+    }
+
+    @Override
+    void endObject() {
+    }
+
+    @Override
+    void variant(int index, Class<?> type) {
+        output.putInt(index);
+    }
+
+    @Override
+    void beginArray(int size) {
+        output.put(PRESENT);
+        output.putInt(size);
+    }
+
+    @Override
+    void endArray() {
+    }
+
+    @Override
+    void nullValue() {
+        output.put(NULL);
+    }
+
+    @Override
+    void intValue(int value) {
+        output.putInt(value);
+    }
+
+    @Override
+    void longValue(long value) {
+        output.putLong(value);
+    }
+
+    @Override
+    void doubleValue(double value) {
+        output.putDouble(value);
+    }
+
+    @Override
+    void floatValue(float value) {
+        output.putFloat(value);
+    }
+
+    @Override
+    void booleanValue(boolean value) {
+        output.put(value ? PRESENT : NULL);
+    }
+
+    @Override
+    void byteValue(byte value) {
+        output.put(value);
+    }
+
+    @Override
+    void shortValue(short value) {
+        output.putShort(value);
+    }
+
+    @Override
+    void charValue(char value) {
+        output.putShort((short) value);
+    }
+
+    @Override
+    void stringValue(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.put(PRESENT);
+        output.putInt(bytes.length);
+        output.putBytes(bytes);
+    }
+
+    @Override
+    void flush() {
+        output.flush();
+    }
+}
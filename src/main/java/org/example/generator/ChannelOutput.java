@@ -0,0 +1,118 @@
+package org.example.generator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+final class ChannelOutput {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    // CSV cells embed nested JSON, whose quotes must be doubled inside the quoted cell
+    private boolean doubleQuotes;
+
+    ChannelOutput(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    void doubleQuotes(boolean enabled) {
+        this.doubleQuotes = enabled;
+    }
+
+    void put(byte value) {
+        ensure(2);
+        if (doubleQuotes && value == '"') {
+            buffer.put(value);
+        }
+        buffer.put(value);
+    }
+
+    void put(char asciiValue) {
+        put((byte) asciiValue);
+    }
+
+    void putAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            put((byte) value.charAt(i));
+        }
+    }
+
+    void putBytes(byte[] value) {
+        int offset = 0;
+        while (offset < value.length) {
+            ensure(1);
+            int chunk = Math.min(buffer.remaining(), value.length - offset);
+            buffer.put(value, offset, chunk);
+            offset += chunk;
+        }
+    }
+
+    void putUtf8(char value) {
+        if (value < 0x80) {
+            put((byte) value);
+        } else if (value < 0x800) {
+            put((byte) (0xC0 | (value >> 6)));
+            put((byte) (0x80 | (value & 0x3F)));
+        } else {
+            put((byte) (0xE0 | (value >> 12)));
+            put((byte) (0x80 | ((value >> 6) & 0x3F)));
+            put((byte) (0x80 | (value & 0x3F)));
+        }
+    }
+
+    void putCodePoint(int codePoint) {
+        if (codePoint < 0x10000) {
+            putUtf8((char) codePoint);
+            return;
+        }
+        put((byte) (0xF0 | (codePoint >> 18)));
+        put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+        put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+        put((byte) (0x80 | (codePoint & 0x3F)));
+    }
+
+    void putInt(int value) {
+        ensure(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    void putLong(long value) {
+        ensure(Long.BYTES);
+        buffer.putLong(value);
+    }
+
+    void putDouble(double value) {
+        ensure(Double.BYTES);
+        buffer.putDouble(value);
+    }
+
+    void putFloat(float value) {
+        ensure(Float.BYTES);
+        buffer.putFloat(value);
+    }
+
+    void putShort(short value) {
+        ensure(Short.BYTES);
+        buffer.putShort(value);
+    }
+
+    void flush() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+    }
+
+    private void ensure(int bytes) {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+}
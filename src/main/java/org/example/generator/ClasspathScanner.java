@@ -0,0 +1,308 @@
+package org.example.generator;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+final class ClasspathScanner {
+    private static final String CLASS_SUFFIX = ".class";
+
+    private final List<String> packages;
+    private final Path cacheDirectory;
+    private final ClassLoader classLoader;
+
+    ClasspathScanner(List<String> packages, Path cacheDirectory, ClassLoader classLoader) {
+        this.packages = List.copyOf(packages);
+        this.cacheDirectory = cacheDirectory;
+        this.classLoader = classLoader;
+    }
+
+    Map<Class<?>, List<Class<?>>> scan() {
+        Set<Path> roots = findRoots();
+        Path cacheFile = cacheDirectory == null ? null : cacheDirectory.resolve("generatable-" + fingerprint(roots) + ".index");
+
+        if (cacheFile != null && Files.isRegularFile(cacheFile)) {
+            Map<Class<?>, List<Class<?>>> cached = readCache(cacheFile);
+            if (cached != null) {
+                return GeneratableIndex.freeze(cached);
+            }
+        }
+
+        Set<String> classNames = roots.parallelStream()
+                .flatMap(this::listClassNames)
+                .collect(Collectors.toSet());
+
+        Map<Class<?>, List<Class<?>>> implementations = new HashMap<>();
+        for (String className : classNames) {
+            Class<?> clazz = GeneratableIndex.loadClass(className, classLoader);
+            if (clazz != null && !clazz.isInterface() && clazz.isAnnotationPresent(Generatable.class)) {
+                for (Class<?> interfaceClass : clazz.getInterfaces()) {
+                    implementations.computeIfAbsent(interfaceClass, k -> new ArrayList<>()).add(clazz);
+                }
+            }
+        }
+
+        Map<Class<?>, List<Class<?>>> index = GeneratableIndex.freeze(implementations);
+        if (cacheFile != null) {
+            writeCache(cacheFile, index);
+        }
+        return index;
+    }
+
+    private Set<Path> findRoots() {
+        Set<Path> roots = new LinkedHashSet<>();
+
+        for (String packageName : packages) {
+            String packagePath = packageName.replace('.', '/');
+            try {
+                Enumeration<URL> resources = classLoader.getResources(packagePath);
+                while (resources.hasMoreElements()) {
+                    Path root = toRoot(resources.nextElement(), packagePath);
+                    if (root != null) {
+                        roots.add(root);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to resolve package " + packageName, e);
+            }
+        }
+
+        // Jars packaged without directory entries have no resource for the package itself, so every jar the
+        // loader reads from is listed by entry prefix as well
+        roots.addAll(classPathJars());
+
+        String modulePath = System.getProperty("jdk.module.path");
+        if (modulePath != null) {
+            for (String entry : modulePath.split(File.pathSeparator)) {
+                if (!entry.isEmpty()) {
+                    roots.add(Paths.get(entry).toAbsolutePath().normalize());
+                }
+            }
+        }
+
+        return roots;
+    }
+
+    private Set<Path> classPathJars() {
+        Set<Path> jars = new LinkedHashSet<>();
+        for (ClassLoader loader = classLoader; loader != null; loader = loader.getParent()) {
+            if (loader instanceof URLClassLoader) {
+                for (URL url : ((URLClassLoader) loader).getURLs()) {
+                    if ("file".equals(url.getProtocol())) {
+                        try {
+                            addJar(jars, Paths.get(url.toURI()));
+                        } catch (URISyntaxException | IllegalArgumentException e) {
+                            // Entries that are not plain files cannot hold a jar to list
+                        }
+                    }
+                }
+            }
+            if (loader == ClassLoader.getSystemClassLoader()) {
+                for (String entry : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+                    if (!entry.isEmpty()) {
+                        addJar(jars, Paths.get(entry));
+                    }
+                }
+            }
+        }
+        return jars;
+    }
+
+    private static void addJar(Set<Path> jars, Path entry) {
+        if (entry.getFileName() != null && entry.getFileName().toString().endsWith(".jar") && Files.isRegularFile(entry)) {
+            jars.add(entry.toAbsolutePath().normalize());
+        }
+    }
+
+    private static Path toRoot(URL resource, String packagePath) throws IOException {
+        try {
+            if ("file".equals(resource.getProtocol())) {
+                Path packageDirectory = Paths.get(resource.toURI());
+                Path root = packageDirectory;
+                for (int i = packagePath.split("/").length; i > 0 && root != null; i--) {
+                    root = root.getParent();
+                }
+                return root;
+            }
+
+            if ("jar".equals(resource.getProtocol())) {
+                URLConnection connection = resource.openConnection();
+                if (connection instanceof JarURLConnection) {
+                    URL jarFileUrl = ((JarURLConnection) connection).getJarFileURL();
+                    if ("file".equals(jarFileUrl.getProtocol())) {
+                        return Paths.get(jarFileUrl.toURI()).toAbsolutePath().normalize();
+                    }
+                }
+            }
+        } catch (URISyntaxException e) {
+            throw new IOException("Unsupported class path URL " + resource, e);
+        }
+
+        return null;
+    }
+
+    private Stream<String> listClassNames(Path root) {
+        try {
+            if (Files.isDirectory(root)) {
+                return listDirectory(root);
+            }
+            if (Files.isRegularFile(root)) {
+                return listJar(root);
+            }
+            return Stream.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to scan " + root, e);
+        }
+    }
+
+    private Stream<String> listDirectory(Path root) throws IOException {
+        List<String> classNames = new ArrayList<>();
+        for (String packageName : packages) {
+            Path packageDirectory = root.resolve(packageName.replace('.', File.separatorChar));
+            if (!Files.isDirectory(packageDirectory)) {
+                continue;
+            }
+
+            try (Stream<Path> files = Files.walk(packageDirectory)) {
+                files.filter(file -> file.getFileName().toString().endsWith(CLASS_SUFFIX))
+                        .map(file -> toClassName(root.relativize(file).toString().replace(File.separatorChar, '/')))
+                        .forEach(classNames::add);
+            }
+        }
+        return classNames.stream();
+    }
+
+    private Stream<String> listJar(Path jar) throws IOException {
+        List<String> classNames = new ArrayList<>();
+        try (JarFile jarFile = new JarFile(jar.toFile())) {
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                String name = entries.nextElement().getName();
+                if (name.startsWith("META-INF/versions/")) {
+                    name = name.substring(name.indexOf('/', "META-INF/versions/".length()) + 1);
+                }
+                if (name.endsWith(CLASS_SUFFIX) && isInScannedPackage(name)) {
+                    classNames.add(toClassName(name));
+                }
+            }
+        }
+        return classNames.stream();
+    }
+
+    private boolean isInScannedPackage(String entryName) {
+        for (String packageName : packages) {
+            if (entryName.startsWith(packageName.replace('.', '/') + '/')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String toClassName(String entryName) {
+        return entryName.substring(0, entryName.length() - CLASS_SUFFIX.length()).replace('/', '.');
+    }
+
+    private String fingerprint(Collection<Path> roots) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.join(",", packages).getBytes(StandardCharsets.UTF_8));
+
+            for (Path root : roots) {
+                digest.update(root.toString().getBytes(StandardCharsets.UTF_8));
+                if (Files.isDirectory(root)) {
+                    for (String packageName : packages) {
+                        Path packageDirectory = root.resolve(packageName.replace('.', File.separatorChar));
+                        if (Files.isDirectory(packageDirectory)) {
+                            try (Stream<Path> files = Files.walk(packageDirectory)) {
+                                files.sorted().forEach(file -> updateDigest(digest, file));
+                            }
+                        }
+                    }
+                } else {
+                    updateDigest(digest, root);
+                }
+            }
+
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.substring(0, 32);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to fingerprint class path", e);
+        }
+    }
+
+    private static void updateDigest(MessageDigest digest, Path file) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            digest.update((file + ":" + attributes.size() + ":" + attributes.lastModifiedTime().toMillis())
+                    .getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to fingerprint " + file, e);
+        }
+    }
+
+    private Map<Class<?>, List<Class<?>>> readCache(Path cacheFile) {
+        Map<Class<?>, List<Class<?>>> implementations = new HashMap<>();
+        try (Reader reader = Files.newBufferedReader(cacheFile, StandardCharsets.UTF_8)) {
+            GeneratableIndex.read(reader, classLoader, implementations);
+            return implementations;
+        } catch (IOException e) {
+            // An unreadable cache is treated as a miss and rebuilt by the scan
+            return null;
+        }
+    }
+
+    private static void writeCache(Path cacheFile, Map<Class<?>, List<Class<?>>> index) {
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            Path temporary = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+            try {
+                try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                    GeneratableIndex.write(index, writer);
+                }
+                try {
+                    Files.move(temporary, cacheFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temporary, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                // Already gone after a successful move; otherwise a failed write would leave it behind
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            // The cache only saves work on the next start, so failing to persist it is not an error
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package org.example.generator;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.IntFunction;
+
+final class CollectionProducers {
+    private CollectionProducers() {
+    }
+
+    static ValueProducer forType(Class<?> rawType, Class<?>[] argumentTypes, ValueProducer[] argumentProducers, SizeDistribution sizes) {
+        if (isSorted(rawType) && argumentTypes.length > 0 && !Comparable.class.isAssignableFrom(argumentTypes[0])) {
+            // Natural ordering is the only ordering available, so this would fail on the first insert otherwise
+            throw new IllegalArgumentException(rawType.getSimpleName() + " needs Comparable "
+                    + (argumentTypes.length == 1 ? "elements" : "keys") + ", but " + argumentTypes[0].getName() + " is not Comparable");
+        }
+
+        if (rawType == Optional.class && argumentProducers.length == 1) {
+            return new OptionalProducer(argumentProducers[0]);
+        }
+
+        if (argumentProducers.length == 1) {
+            IntFunction<Collection<Object>> factory = collectionFactory(rawType);
+            if (factory != null) {
+                return collectionProducer(factory, argumentProducers[0], sizes);
+            }
+        }
+
+        if (argumentProducers.length == 2) {
+            IntFunction<Map<Object, Object>> factory = mapFactory(rawType);
+            if (factory != null) {
+                return mapProducer(factory, argumentProducers[0], argumentProducers[1], sizes);
+            }
+        }
+
+        return null;
+    }
+
+    private static IntFunction<Collection<Object>> collectionFactory(Class<?> rawType) {
+        if (rawType == List.class || rawType == ArrayList.class || rawType == Collection.class || rawType == Iterable.class) {
+            return ArrayList::new;
+        }
+        if (rawType == LinkedList.class) {
+            return size -> new LinkedList<>();
+        }
+        if (rawType == Set.class || rawType == HashSet.class) {
+            return size -> new HashSet<>(hashCapacity(size));
+        }
+        if (rawType == LinkedHashSet.class) {
+            return size -> new LinkedHashSet<>(hashCapacity(size));
+        }
+        if (isSorted(rawType) && Collection.class.isAssignableFrom(rawType)) {
+            return size -> new TreeSet<>();
+        }
+        if (rawType == Queue.class || rawType == Deque.class || rawType == ArrayDeque.class) {
+            return ArrayDeque::new;
+        }
+        return null;
+    }
+
+    private static IntFunction<Map<Object, Object>> mapFactory(Class<?> rawType) {
+        if (rawType == Map.class || rawType == HashMap.class) {
+            return size -> new HashMap<>(hashCapacity(size));
+        }
+        if (rawType == LinkedHashMap.class) {
+            return size -> new LinkedHashMap<>(hashCapacity(size));
+        }
+        if (isSorted(rawType) && Map.class.isAssignableFrom(rawType)) {
+            return size -> new TreeMap<>();
+        }
+        if (rawType == ConcurrentMap.class || rawType == ConcurrentHashMap.class) {
+            return ConcurrentHashMap::new;
+        }
+        return null;
+    }
+
+    private static boolean isSorted(Class<?> rawType) {
+        return rawType == SortedSet.class || rawType == NavigableSet.class || rawType == TreeSet.class
+                || rawType == SortedMap.class || rawType == NavigableMap.class || rawType == TreeMap.class;
+    }
+
+    private static ValueProducer collectionProducer(IntFunction<Collection<Object>> factory, ValueProducer elementProducer, SizeDistribution sizes) {
+        return new CollectionProducer(factory, elementProducer, sizes);
+    }
+
+    private static ValueProducer mapProducer(IntFunction<Map<Object, Object>> factory, ValueProducer keyProducer, ValueProducer valueProducer, SizeDistribution sizes) {
+        return new MapProducer(factory, keyProducer, valueProducer, sizes);
+    }
+
+    // Smallest capacity that holds the expected size without resizing at the default load factor
+    private static int hashCapacity(int expectedSize) {
+        return (int) Math.ceil(expectedSize / 0.75);
+    }
+
+    private static final class CollectionProducer implements CompositeProducer {
+        private final IntFunction<Collection<Object>> factory;
+        private final ValueProducer elementProducer;
+        private final SizeDistribution sizes;
+
+        CollectionProducer(IntFunction<Collection<Object>> factory, ValueProducer elementProducer, SizeDistribution sizes) {
+            this.factory = factory;
+            this.elementProducer = elementProducer;
+            this.sizes = sizes;
+        }
+
+        @Override
+        public Object produce(GenerationContext context, int depth) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+            int size = sizes.sample(context.random());
+            Collection<Object> collection = factory.apply(size);
+
+            for (int i = 0; i < size; i++) {
+                Object element = elementProducer.produce(context, depth);
+                if (element != null) {
+                    collection.add(element);
+                }
+            }
+
+            return collection;
+        }
+
+        @Override
+        public void emit(GenerationContext context, int depth, ValueWriter writer) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+            int size = sizes.sample(context.random());
+            writer.beginArray(size);
+            for (int i = 0; i < size; i++) {
+                elementProducer.emit(context, depth, writer);
+            }
+            writer.endArray();
+        }
+
+        @Override
+        public Expansion expand(GenerationContext context, int depth) {
+            ValueProducer[] children = new ValueProducer[sizes.sample(context.random())];
+            Arrays.fill(children, elementProducer);
+
+            return Expansion.of(children, depth, values -> {
+                Collection<Object> collection = factory.apply(values.length);
+                for (Object element : values) {
+                    if (element != null) {
+                        collection.add(element);
+                    }
+                }
+                return collection;
+            });
+        }
+    }
+
+    private static final class MapProducer implements CompositeProducer {
+        private final IntFunction<Map<Object, Object>> factory;
+        private final ValueProducer keyProducer;
+        private final ValueProducer valueProducer;
+        private final SizeDistribution sizes;
+
+        MapProducer(IntFunction<Map<Object, Object>> factory, ValueProducer keyProducer, ValueProducer valueProducer, SizeDistribution sizes) {
+            this.factory = factory;
+            this.keyProducer = keyProducer;
+            this.valueProducer = valueProducer;
+            this.sizes = sizes;
+        }
+
+        @Override
+        public Object produce(GenerationContext context, int depth) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+            int size = sizes.sample(context.random());
+            Map<Object, Object> map = factory.apply(size);
+
+            for (int i = 0; i < size; i++) {
+                Object key = keyProducer.produce(context, depth);
+                Object value = valueProducer.produce(context, depth);
+                if (key != null && value != null) {
+                    map.put(key, value);
+                }
+            }
+
+            return map;
+        }
+
+        // Entries are written as [key, value] pairs so keys need not be strings
+        @Override
+        public void emit(GenerationContext context, int depth, ValueWriter writer) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+            int size = sizes.sample(context.random());
+            writer.beginArray(size);
+            for (int i = 0; i < size; i++) {
+                writer.beginArray(2);
+                keyProducer.emit(context, depth, writer);
+                valueProducer.emit(context, depth, writer);
+                writer.endArray();
+            }
+            writer.endArray();
+        }
+
+        @Override
+        public Expansion expand(GenerationContext context, int depth) {
+            int size = sizes.sample(context.random());
+            ValueProducer[] children = new ValueProducer[size * 2];
+            for (int i = 0; i < size; i++) {
+                children[i * 2] = keyProducer;
+                children[i * 2 + 1] = valueProducer;
+            }
+
+            return Expansion.of(children, depth, values -> {
+                Map<Object, Object> map = factory.apply(size);
+                for (int i = 0; i < size; i++) {
+                    Object key = values[i * 2];
+                    Object value = values[i * 2 + 1];
+                    if (key != null && value != null) {
+                        map.put(key, value);
+                    }
+                }
+                return map;
+            });
+        }
+    }
+
+    private static final class OptionalProducer implements CompositeProducer {
+        private final ValueProducer elementProducer;
+
+        OptionalProducer(ValueProducer elementProducer) {
+            this.elementProducer = elementProducer;
+        }
+
+        @Override
+        public Object produce(GenerationContext context, int depth) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+            return Optional.ofNullable(elementProducer.produce(context, depth));
+        }
+
+        @Override
+        public void emit(GenerationContext context, int depth, ValueWriter writer) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+            elementProducer.emit(context, depth, writer);
+        }
+
+        @Override
+        public Expansion expand(GenerationContext context, int depth) {
+            return Expansion.of(new ValueProducer[]{elementProducer}, depth, values -> Optional.ofNullable(values[0]));
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.generator;
+
+import java.lang.reflect.InvocationTargetException;
+
+interface CompositeProducer extends ValueProducer {
+    Expansion expand(GenerationContext context, int depth) throws InvocationTargetException, InstantiationException, IllegalAccessException;
+}
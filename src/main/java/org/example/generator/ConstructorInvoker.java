@@ -0,0 +1,8 @@
+package org.example.generator;
+
+import java.lang.reflect.InvocationTargetException;
+
+@FunctionalInterface
+interface ConstructorInvoker {
+    Object invoke(Object[] arguments) throws InvocationTargetException, InstantiationException, IllegalAccessException;
+}
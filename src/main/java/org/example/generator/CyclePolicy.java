@@ -0,0 +1,7 @@
+package org.example.generator;
+
+public enum CyclePolicy {
+    BREAK,
+    UNROLL,
+    LINK
+}
@@ -0,0 +1,78 @@
+package org.example.generator;
+
+import java.lang.reflect.InvocationTargetException;
+
+final class Expansion {
+    private static final Expansion NULL = new Expansion(null, null, 0, null, GenerationContext.NO_TYPE, null);
+
+    private final Object value;
+    private final ValueProducer[] children;
+    private final int childDepth;
+    private final Assembler assembler;
+    private final int enteredType;
+    private final Completion completion;
+
+    private Expansion(Object value, ValueProducer[] children, int childDepth, Assembler assembler, int enteredType, Completion completion) {
+        this.value = value;
+        this.children = children;
+        this.childDepth = childDepth;
+        this.assembler = assembler;
+        this.enteredType = enteredType;
+        this.completion = completion;
+    }
+
+    static Expansion resolved(Object value) {
+        return value == null ? NULL : new Expansion(value, null, 0, null, GenerationContext.NO_TYPE, null);
+    }
+
+    static Expansion of(ValueProducer[] children, int childDepth, Assembler assembler) {
+        return of(children, childDepth, assembler, GenerationContext.NO_TYPE, null);
+    }
+
+    static Expansion of(ValueProducer[] children, int childDepth, Assembler assembler, int enteredType, Completion completion) {
+        return new Expansion(null, children, childDepth, assembler, enteredType, completion);
+    }
+
+    boolean isResolved() {
+        return children == null;
+    }
+
+    Object value() {
+        return value;
+    }
+
+    ValueProducer[] children() {
+        return children;
+    }
+
+    int childDepth() {
+        return childDepth;
+    }
+
+    Object assemble(Object[] values) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+        return assembler.assemble(values);
+    }
+
+    void complete(GenerationContext context, Object value, Class<?>[] cycleTargets) throws InvocationTargetException {
+        if (completion != null) {
+            completion.complete(context, value, cycleTargets);
+        }
+    }
+
+    // Types are entered on the generation path when expanded and must be left once the value is assembled
+    void exit(GenerationContext context) {
+        if (enteredType != GenerationContext.NO_TYPE) {
+            context.exit(enteredType);
+        }
+    }
+
+    @FunctionalInterface
+    interface Assembler {
+        Object assemble(Object[] values) throws InvocationTargetException, InstantiationException, IllegalAccessException;
+    }
+
+    @FunctionalInterface
+    interface Completion {
+        void complete(GenerationContext context, Object value, Class<?>[] cycleTargets) throws InvocationTargetException;
+    }
+}
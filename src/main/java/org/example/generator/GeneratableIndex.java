@@ -0,0 +1,95 @@
+package org.example.generator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+final class GeneratableIndex {
+    static final String IMPLEMENTATIONS_RESOURCE = "META-INF/generatable/implementations";
+
+    private GeneratableIndex() {
+    }
+
+    static Map<Class<?>, List<Class<?>>> load(ClassLoader classLoader) {
+        Map<Class<?>, List<Class<?>>> implementations = new HashMap<>();
+        boolean found = false;
+
+        try {
+            Enumeration<URL> resources = classLoader.getResources(IMPLEMENTATIONS_RESOURCE);
+            while (resources.hasMoreElements()) {
+                found = true;
+                readIndex(resources.nextElement(), classLoader, implementations);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + IMPLEMENTATIONS_RESOURCE, e);
+        }
+
+        return found ? freeze(implementations) : null;
+    }
+
+    static Map<Class<?>, List<Class<?>>> freeze(Map<Class<?>, List<Class<?>>> implementations) {
+        Map<Class<?>, List<Class<?>>> index = new HashMap<>();
+        implementations.forEach((interfaceClass, classes) -> {
+            List<Class<?>> sorted = new ArrayList<>(classes);
+            sorted.sort(Comparator.comparing(Class::getName));
+            index.put(interfaceClass, List.copyOf(sorted));
+        });
+        return Map.copyOf(index);
+    }
+
+    private static void readIndex(URL resource, ClassLoader classLoader, Map<Class<?>, List<Class<?>>> implementations) throws IOException {
+        try (Reader reader = new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8)) {
+            read(reader, classLoader, implementations);
+        }
+    }
+
+    static void read(Reader source, ClassLoader classLoader, Map<Class<?>, List<Class<?>>> implementations) throws IOException {
+        BufferedReader reader = new BufferedReader(source);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            int separator = line.indexOf('=');
+            if (separator <= 0) {
+                continue;
+            }
+
+            Class<?> interfaceClass = loadClass(line.substring(0, separator).trim(), classLoader);
+            Class<?> implementation = loadClass(line.substring(separator + 1).trim(), classLoader);
+            if (interfaceClass != null && implementation != null) {
+                List<Class<?>> classes = implementations.computeIfAbsent(interfaceClass, k -> new ArrayList<>());
+                if (!classes.contains(implementation)) {
+                    classes.add(implementation);
+                }
+            }
+        }
+    }
+
+    static void write(Map<Class<?>, List<Class<?>>> implementations, Writer writer) throws IOException {
+        List<Class<?>> interfaces = new ArrayList<>(implementations.keySet());
+        interfaces.sort(Comparator.comparing(Class::getName));
+        for (Class<?> interfaceClass : interfaces) {
+            for (Class<?> implementation : implementations.get(interfaceClass)) {
+                writer.write(interfaceClass.getName() + '=' + implementation.getName() + '\n');
+            }
+        }
+    }
+
+    static Class<?> loadClass(String name, ClassLoader classLoader) {
+        try {
+            return Class.forName(name, false, classLoader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            // Stale entries from a previous build are ignored rather than failing generation
+            return null;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package org.example.generator;
+
+import org.example.generator.PrimitiveProducers.StringProducer;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+// One native-order direct buffer per constructor parameter and populated member. Fixed-width values are
+// stored back to back; strings as UTF-8 bytes delimited by rows + 1 int offsets, so no row is ever an object.
+public final class GeneratedColumns {
+    private static final int INITIAL_STRING_BYTES = 16;
+
+    private final int rows;
+    private final RecordLayout.Column[] columns;
+    private final ByteBuffer[] data;
+    private final IntBuffer[] offsets;
+
+    private GeneratedColumns(int rows, RecordLayout.Column[] columns, ByteBuffer[] data, IntBuffer[] offsets) {
+        this.rows = rows;
+        this.columns = columns;
+        this.data = data;
+        this.offsets = offsets;
+    }
+
+    static GeneratedColumns create(Class<?> type, RecordLayout.Column[] columns, int rows, IntFunction<GenerationContext> contexts) {
+        ByteBuffer[] data = new ByteBuffer[columns.length];
+        IntBuffer[] offsets = new IntBuffer[columns.length];
+        StringProducer[] strings = new StringProducer[columns.length];
+        for (int c = 0; c < columns.length; c++) {
+            if (columns[c].producer() instanceof StringProducer) {
+                strings[c] = (StringProducer) columns[c].producer();
+                offsets[c] = allocate(type, columns[c], rows + 1L, Integer.BYTES).asIntBuffer();
+                data[c] = allocate(type, columns[c], Math.min((long) rows * INITIAL_STRING_BYTES, Integer.MAX_VALUE), 1);
+            } else {
+                data[c] = allocate(type, columns[c], rows, columns[c].width());
+            }
+        }
+
+        // Rows are drawn in order so row i holds the values object #i of stream(type) would get from the same seed
+        for (int row = 0; row < rows; row++) {
+            GenerationContext context = contexts.apply(row);
+            for (int c = 0; c < columns.length; c++) {
+                if (strings[c] == null) {
+                    columns[c].write(context, data[c], row * columns[c].width());
+                } else {
+                    byte[] bytes = strings[c].produceString(context).getBytes(StandardCharsets.UTF_8);
+                    data[c] = ensureCapacity(type, columns[c], data[c], bytes.length);
+                    offsets[c].put(row, data[c].position());
+                    data[c].put(bytes);
+                }
+            }
+        }
+
+        for (int c = 0; c < columns.length; c++) {
+            if (strings[c] != null) {
+                offsets[c].put(rows, data[c].position());
+                data[c].flip();
+            }
+        }
+        return new GeneratedColumns(rows, columns, data, offsets);
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public List<String> names() {
+        List<String> names = new ArrayList<>(columns.length);
+        for (RecordLayout.Column column : columns) {
+            names.add(column.name());
+        }
+        return names;
+    }
+
+    public IntBuffer ints(String column) {
+        return fixed(column, "int").asIntBuffer().asReadOnlyBuffer();
+    }
+
+    public LongBuffer longs(String column) {
+        return fixed(column, "long").asLongBuffer().asReadOnlyBuffer();
+    }
+
+    public DoubleBuffer doubles(String column) {
+        return fixed(column, "double").asDoubleBuffer().asReadOnlyBuffer();
+    }
+
+    public FloatBuffer floats(String column) {
+        return fixed(column, "float").asFloatBuffer().asReadOnlyBuffer();
+    }
+
+    public ShortBuffer shorts(String column) {
+        return fixed(column, "short").asShortBuffer().asReadOnlyBuffer();
+    }
+
+    public CharBuffer chars(String column) {
+        return fixed(column, "char").asCharBuffer().asReadOnlyBuffer();
+    }
+
+    // Byte columns, and boolean columns as 0 or 1
+    public ByteBuffer bytes(String column) {
+        int index = indexOf(column);
+        String kind = columns[index].kind();
+        if (!kind.equals("byte") && !kind.equals("boolean")) {
+            throw wrongKind(column, index, "byte");
+        }
+        return data[index].asReadOnlyBuffer();
+    }
+
+    public IntBuffer stringOffsets(String column) {
+        return offsets[stringIndex(column)].asReadOnlyBuffer();
+    }
+
+    public ByteBuffer stringBytes(String column) {
+        return data[stringIndex(column)].asReadOnlyBuffer();
+    }
+
+    public String string(String column, int row) {
+        int index = stringIndex(column);
+        Objects.checkIndex(row, rows);
+        int start = offsets[index].get(row);
+        byte[] bytes = new byte[offsets[index].get(row + 1) - start];
+        data[index].get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private ByteBuffer fixed(String column, String kind) {
+        int index = indexOf(column);
+        if (!columns[index].kind().equals(kind)) {
+            throw wrongKind(column, index, kind);
+        }
+        return data[index];
+    }
+
+    private int stringIndex(String column) {
+        int index = indexOf(column);
+        if (offsets[index] == null) {
+            throw wrongKind(column, index, "String");
+        }
+        return index;
+    }
+
+    private int indexOf(String column) {
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i].name().equals(column)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("No column " + column + " in " + names());
+    }
+
+    private IllegalArgumentException wrongKind(String column, int index, String kind) {
+        String actual = offsets[index] != null ? "String" : columns[index].kind();
+        return new IllegalArgumentException("Column " + column + " holds " + actual + " values, not " + kind);
+    }
+
+    private static ByteBuffer allocate(Class<?> type, RecordLayout.Column column, long count, int width) {
+        long bytes = count * width;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Column " + type.getName() + "#" + column.name() + " would exceed 2 GiB");
+        }
+        return ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder());
+    }
+
+    private static ByteBuffer ensureCapacity(Class<?> type, RecordLayout.Column column, ByteBuffer buffer, int length) {
+        if (buffer.remaining() >= length) {
+            return buffer;
+        }
+        long required = (long) buffer.position() + length;
+        ByteBuffer grown = allocate(type, column, Math.max(required, Math.min(2L * buffer.capacity(), Integer.MAX_VALUE)), 1);
+        buffer.flip();
+        return grown.put(buffer);
+    }
+}
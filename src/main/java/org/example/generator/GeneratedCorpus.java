@@ -0,0 +1,142 @@
+package org.example.generator;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.LongFunction;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+// A memory-mapped file of fixed-width records behind a header naming the layout. Objects are only
+// assembled when asked for, so the corpus costs page cache rather than heap and record i is one offset away.
+public final class GeneratedCorpus<T> {
+    private static final int MAGIC = 0x47435250;
+    private static final int VERSION = 1;
+    private static final int FIXED_HEADER_SIZE = 2 * Integer.BYTES + Long.BYTES + 2 * Integer.BYTES;
+
+    private final Class<T> type;
+    private final RecordLayout layout;
+    private final long size;
+    private final ByteBuffer[] chunks;
+    private final int recordsPerChunk;
+
+    private GeneratedCorpus(Class<T> type, RecordLayout layout, long size, ByteBuffer[] chunks, int recordsPerChunk) {
+        this.type = type;
+        this.layout = layout;
+        this.size = size;
+        this.chunks = chunks;
+        this.recordsPerChunk = recordsPerChunk;
+    }
+
+    static <T> GeneratedCorpus<T> create(Class<T> type, RecordLayout layout, long count, Path path,
+                                         LongFunction<GenerationContext> contexts) throws IOException {
+        byte[] signature = layout.signature().getBytes(StandardCharsets.UTF_8);
+        int headerSize = headerSize(signature);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(headerSize)
+                    .putInt(MAGIC).putInt(VERSION).putLong(count).putInt(layout.recordSize()).putInt(signature.length)
+                    .put(signature);
+            header.clear();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+
+            ByteBuffer[] chunks = map(channel, FileChannel.MapMode.READ_WRITE, headerSize, count, layout.recordSize());
+            int recordsPerChunk = recordsPerChunk(layout.recordSize());
+            int recordSize = layout.recordSize();
+            for (long index = 0; index < count; index++) {
+                layout.write(contexts.apply(index), chunks[(int) (index / recordsPerChunk)],
+                        (int) (index % recordsPerChunk) * recordSize);
+            }
+            return new GeneratedCorpus<>(type, layout, count, chunks, recordsPerChunk);
+        }
+    }
+
+    static <T> GeneratedCorpus<T> open(Class<T> type, RecordLayout layout, Path path) throws IOException {
+        byte[] expected = layout.signature().getBytes(StandardCharsets.UTF_8);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(FIXED_HEADER_SIZE);
+            readFully(channel, header, 0, path);
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException(path + " is not a generated corpus");
+            }
+            long count = header.getLong();
+            int recordSize = header.getInt();
+            byte[] signature = new byte[header.getInt()];
+            if (signature.length != expected.length) {
+                throw mismatch(path, layout);
+            }
+            ByteBuffer stored = ByteBuffer.wrap(signature);
+            readFully(channel, stored, FIXED_HEADER_SIZE, path);
+            if (!Arrays.equals(signature, expected) || recordSize != layout.recordSize()) {
+                throw mismatch(path, layout);
+            }
+
+            int headerSize = headerSize(signature);
+            if (channel.size() < headerSize + count * recordSize) {
+                throw new IOException(path + " is truncated: expected " + count + " records of " + recordSize + " bytes");
+            }
+            ByteBuffer[] chunks = map(channel, FileChannel.MapMode.READ_ONLY, headerSize, count, recordSize);
+            return new GeneratedCorpus<>(type, layout, count, chunks, recordsPerChunk(recordSize));
+        }
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public T get(long index) {
+        Objects.checkIndex(index, size);
+        try {
+            return type.cast(layout.read(chunks[(int) (index / recordsPerChunk)],
+                    (int) (index % recordsPerChunk) * layout.recordSize()));
+        } catch (InvocationTargetException | InstantiationException | IllegalAccessException e) {
+            throw new GenerationException("Failed to materialize object #" + index, e);
+        }
+    }
+
+    public Stream<T> stream() {
+        return LongStream.range(0, size).mapToObj(this::get);
+    }
+
+    // A single mapping is limited to 2 GiB, so records are spread over mappings that never split a record
+    private static ByteBuffer[] map(FileChannel channel, FileChannel.MapMode mode, long start, long count, int recordSize) throws IOException {
+        int recordsPerChunk = recordsPerChunk(recordSize);
+        ByteBuffer[] chunks = new ByteBuffer[(int) ((count + recordsPerChunk - 1) / recordsPerChunk)];
+        for (int i = 0; i < chunks.length; i++) {
+            long first = (long) i * recordsPerChunk;
+            long records = Math.min(recordsPerChunk, count - first);
+            chunks[i] = channel.map(mode, start + first * recordSize, records * recordSize);
+        }
+        return chunks;
+    }
+
+    private static int recordsPerChunk(int recordSize) {
+        return Integer.MAX_VALUE / recordSize;
+    }
+
+    private static int headerSize(byte[] signature) {
+        // Keeps records 8-byte aligned within the mapping
+        return (FIXED_HEADER_SIZE + signature.length + 7) & ~7;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position, Path path) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException(path + " is not a generated corpus");
+            }
+        }
+    }
+
+    private static IllegalArgumentException mismatch(Path path, RecordLayout layout) {
+        return new IllegalArgumentException(path + " was not written with the layout " + layout.signature());
+    }
+}
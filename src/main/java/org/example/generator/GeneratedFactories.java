@@ -0,0 +1,205 @@
+package org.example.generator;
+
+import org.example.generator.PrimitiveProducers.BooleanProducer;
+import org.example.generator.PrimitiveProducers.ByteProducer;
+import org.example.generator.PrimitiveProducers.CharProducer;
+import org.example.generator.PrimitiveProducers.DoubleProducer;
+import org.example.generator.PrimitiveProducers.FloatProducer;
+import org.example.generator.PrimitiveProducers.IntProducer;
+import org.example.generator.PrimitiveProducers.LongProducer;
+import org.example.generator.PrimitiveProducers.ShortProducer;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+final class GeneratedFactories {
+    private static final System.Logger LOGGER = System.getLogger(GeneratedFactories.class.getName());
+
+    private GeneratedFactories() {
+    }
+
+    static Map<Class<?>, GeneratedFactory<?>> load(ClassLoader classLoader) {
+        Map<Class<?>, GeneratedFactory<?>> factories = new HashMap<>();
+        Iterator<GeneratedFactory<?>> providers = services(classLoader).iterator();
+        while (providers.hasNext()) {
+            try {
+                GeneratedFactory<?> factory = providers.next();
+                factories.putIfAbsent(factory.type(), factory);
+            } catch (ServiceConfigurationError e) {
+                // Stale registrations from a previous build are skipped rather than failing generation
+                LOGGER.log(System.Logger.Level.WARNING, "Skipping generated factory registration", e);
+            }
+        }
+        return Map.copyOf(factories);
+    }
+
+    // The service type can only be named raw; every provider is a GeneratedFactory of some type
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ServiceLoader<GeneratedFactory<?>> services(ClassLoader classLoader) {
+        return (ServiceLoader) ServiceLoader.load(GeneratedFactory.class, classLoader);
+    }
+
+    // A factory only stands in for the constructor the plan selected; anything else falls back to the backend
+    static boolean matches(GeneratedFactory<?> factory, Constructor<?> constructor) {
+        return Arrays.equals(factory.parameterTypes().toArray(), constructor.getParameterTypes());
+    }
+
+    static ConstructorInvoker invoker(GeneratedFactory<?> factory) {
+        return arguments -> create(factory, new ArgumentSource(arguments));
+    }
+
+    static ValueProducer producer(GeneratedFactory<?> factory, ValueProducer[] parameterProducers) {
+        return (context, depth) -> create(factory, new ProducerSource(parameterProducers, context, depth));
+    }
+
+    private static Object create(GeneratedFactory<?> factory, ValueSource source) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+        try {
+            return factory.create(source);
+        } catch (InvocationTargetException | InstantiationException | IllegalAccessException e) {
+            throw e;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    private static final class ArgumentSource implements ValueSource {
+        private final Object[] arguments;
+
+        ArgumentSource(Object[] arguments) {
+            this.arguments = arguments;
+        }
+
+        @Override
+        public int nextInt(int parameter) {
+            return (Integer) arguments[parameter];
+        }
+
+        @Override
+        public long nextLong(int parameter) {
+            return (Long) arguments[parameter];
+        }
+
+        @Override
+        public double nextDouble(int parameter) {
+            return (Double) arguments[parameter];
+        }
+
+        @Override
+        public float nextFloat(int parameter) {
+            return (Float) arguments[parameter];
+        }
+
+        @Override
+        public boolean nextBoolean(int parameter) {
+            return (Boolean) arguments[parameter];
+        }
+
+        @Override
+        public byte nextByte(int parameter) {
+            return (Byte) arguments[parameter];
+        }
+
+        @Override
+        public short nextShort(int parameter) {
+            return (Short) arguments[parameter];
+        }
+
+        @Override
+        public char nextChar(int parameter) {
+            return (Character) arguments[parameter];
+        }
+
+        @Override
+        public Object nextObject(int parameter) {
+            return arguments[parameter];
+        }
+    }
+
+    // Typed producers are called directly so primitive arguments are never boxed
+    private static final class ProducerSource implements ValueSource {
+        private final ValueProducer[] producers;
+        private final GenerationContext context;
+        private final int depth;
+
+        ProducerSource(ValueProducer[] producers, GenerationContext context, int depth) {
+            this.producers = producers;
+            this.context = context;
+            this.depth = depth;
+        }
+
+        @Override
+        public int nextInt(int parameter) throws ReflectiveOperationException {
+            ValueProducer producer = producers[parameter];
+            return producer instanceof IntProducer
+                    ? ((IntProducer) producer).produceInt(context)
+                    : (Integer) producer.produce(context, depth);
+        }
+
+        @Override
+        public long nextLong(int parameter) throws ReflectiveOperationException {
+            ValueProducer producer = producers[parameter];
+            return producer instanceof LongProducer
+                    ? ((LongProducer) producer).produceLong(context)
+                    : (Long) producer.produce(context, depth);
+        }
+
+        @Override
+        public double nextDouble(int parameter) throws ReflectiveOperationException {
+            ValueProducer producer = producers[parameter];
+            return producer instanceof DoubleProducer
+                    ? ((DoubleProducer) producer).produceDouble(context)
+                    : (Double) producer.produce(context, depth);
+        }
+
+        @Override
+        public float nextFloat(int parameter) throws ReflectiveOperationException {
+            ValueProducer producer = producers[parameter];
+            return producer instanceof FloatProducer
+                    ? ((FloatProducer) producer).produceFloat(context)
+                    : (Float) producer.produce(context, depth);
+        }
+
+        @Override
+        public boolean nextBoolean(int parameter) throws ReflectiveOperationException {
+            ValueProducer producer = producers[parameter];
+            return producer instanceof BooleanProducer
+                    ? ((BooleanProducer) producer).produceBoolean(context)
+                    : (Boolean) producer.produce(context, depth);
+        }
+
+        @Override
+        public byte nextByte(int parameter) throws ReflectiveOperationException {
+            ValueProducer producer = producers[parameter];
+            return producer instanceof ByteProducer
+                    ? ((ByteProducer) producer).produceByte(context)
+                    : (Byte) producer.produce(context, depth);
+        }
+
+        @Override
+        public short nextShort(int parameter) throws ReflectiveOperationException {
+            ValueProducer producer = producers[parameter];
+            return producer instanceof ShortProducer
+                    ? ((ShortProducer) producer).produceShort(context)
+                    : (Short) producer.produce(context, depth);
+        }
+
+        @Override
+        public char nextChar(int parameter) throws ReflectiveOperationException {
+            ValueProducer producer = producers[parameter];
+            return producer instanceof CharProducer
+                    ? ((CharProducer) producer).produceChar(context)
+                    : (Character) producer.produce(context, depth);
+        }
+
+        @Override
+        public Object nextObject(int parameter) throws ReflectiveOperationException {
+            return producers[parameter].produce(context, depth);
+        }
+    }
+}
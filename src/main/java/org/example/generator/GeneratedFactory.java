@@ -0,0 +1,15 @@
+package org.example.generator;
+
+import java.util.List;
+
+/**
+ * Constructs a {@link Generatable} type with plain Java calls. Implementations are emitted by the
+ * annotation processor and registered as services, so the generator can skip reflective construction.
+ */
+public interface GeneratedFactory<T> {
+    Class<T> type();
+
+    List<Class<?>> parameterTypes();
+
+    T create(ValueSource source) throws ReflectiveOperationException;
+}
@@ -0,0 +1,142 @@
+package org.example.generator;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+final class GenerationContext {
+    static final int NO_TYPE = -1;
+
+    private RandomGenerator random;
+    // Indexed by the generator's type ids; a set flag means the type is on the current generation path
+    private boolean[] generationPath;
+    private int pathLength;
+    private Class<?> cycleTarget;
+    private List<PendingReference> pendingReferences;
+    private Map<Class<?>, List<Object>> generatedInstances;
+
+    GenerationContext(RandomGenerator random, int typeCapacity) {
+        this.random = random;
+        this.generationPath = new boolean[Math.max(typeCapacity, 1)];
+    }
+
+    // Prepares a thread's context for the next root object without reallocating its path
+    GenerationContext reset(RandomGenerator random) {
+        release();
+        this.random = random;
+        return this;
+    }
+
+    // Drops everything the last root left behind, so an idle thread does not keep its object graph reachable
+    void release() {
+        random = null;
+        if (pathLength != 0) {
+            Arrays.fill(generationPath, false);
+            pathLength = 0;
+        }
+        cycleTarget = null;
+        if (pendingReferences != null) {
+            pendingReferences.clear();
+        }
+        if (generatedInstances != null) {
+            generatedInstances.clear();
+        }
+    }
+
+    RandomGenerator random() {
+        return random;
+    }
+
+    boolean enter(int typeId) {
+        if (typeId >= generationPath.length) {
+            generationPath = Arrays.copyOf(generationPath, Math.max(typeId + 1, generationPath.length * 2));
+        }
+        if (generationPath[typeId]) {
+            return false;
+        }
+        generationPath[typeId] = true;
+        pathLength++;
+        return true;
+    }
+
+    void exit(int typeId) {
+        generationPath[typeId] = false;
+        pathLength--;
+    }
+
+    void markCycleTarget(Class<?> type) {
+        cycleTarget = type;
+    }
+
+    Class<?> takeCycleTarget() {
+        Class<?> target = cycleTarget;
+        cycleTarget = null;
+        return target;
+    }
+
+    void deferBackReference(Class<?> target, Object holder, MethodHandle setter) {
+        if (pendingReferences == null) {
+            pendingReferences = new ArrayList<>();
+        }
+        pendingReferences.add(new PendingReference(target, holder, setter));
+    }
+
+    void completeBackReferences(Class<?> target, Object instance) throws InvocationTargetException {
+        if (pendingReferences == null) {
+            return;
+        }
+
+        int kept = 0;
+        for (int i = 0; i < pendingReferences.size(); i++) {
+            PendingReference reference = pendingReferences.get(i);
+            if (reference.target != target) {
+                pendingReferences.set(kept++, reference);
+                continue;
+            }
+            if (instance != null) {
+                try {
+                    reference.setter.invokeExact(reference.holder, instance);
+                } catch (Throwable e) {
+                    throw new InvocationTargetException(e);
+                }
+            }
+        }
+        pendingReferences.subList(kept, pendingReferences.size()).clear();
+    }
+
+    Object reuse(Class<?> type, double probability) {
+        if (generatedInstances == null) {
+            return null;
+        }
+
+        List<Object> instances = generatedInstances.get(type);
+        if (instances == null || random.nextDouble() >= probability) {
+            return null;
+        }
+        return instances.get(random.nextInt(instances.size()));
+    }
+
+    void remember(Class<?> type, Object instance) {
+        if (generatedInstances == null) {
+            generatedInstances = new HashMap<>();
+        }
+        generatedInstances.computeIfAbsent(type, key -> new ArrayList<>()).add(instance);
+    }
+
+    private static final class PendingReference {
+        private final Class<?> target;
+        private final Object holder;
+        private final MethodHandle setter;
+
+        PendingReference(Class<?> target, Object holder, MethodHandle setter) {
+            this.target = target;
+            this.holder = holder;
+            this.setter = setter;
+        }
+    }
+}
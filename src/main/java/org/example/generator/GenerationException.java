@@ -0,0 +1,9 @@
+package org.example.generator;
+
+public class GenerationException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public GenerationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
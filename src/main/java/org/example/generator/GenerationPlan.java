@@ -0,0 +1,130 @@
+package org.example.generator;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+
+final class GenerationPlan {
+    static final GenerationPlan EMPTY = new GenerationPlan(null, new ValueProducer[0], null, null, new MemberWriter[0], new String[0], true);
+
+    private final ConstructorInvoker invoker;
+    private final ValueProducer[] parameterProducers;
+    private final ValueProducer factory;
+    private final BackReferences backReferences;
+    private final MemberWriter[] members;
+    private final ValueProducer[] children;
+    private final String[] childNames;
+    private final boolean namedParameters;
+
+    GenerationPlan(ConstructorInvoker invoker, ValueProducer[] parameterProducers, ValueProducer factory,
+                   BackReferences backReferences, MemberWriter[] members, String[] childNames, boolean namedParameters) {
+        this.invoker = invoker;
+        this.parameterProducers = parameterProducers;
+        this.factory = factory;
+        this.backReferences = backReferences;
+        this.members = members;
+        this.childNames = childNames;
+        this.namedParameters = namedParameters;
+        this.children = Arrays.copyOf(parameterProducers, parameterProducers.length + members.length);
+        for (int i = 0; i < members.length; i++) {
+            children[parameterProducers.length + i] = members[i].producer();
+        }
+    }
+
+    boolean isEmpty() {
+        return invoker == null;
+    }
+
+    // Constructor parameters followed by populated members, in the order assemble expects their values
+    ValueProducer[] children() {
+        return children;
+    }
+
+    String[] childNames() {
+        return childNames.clone();
+    }
+
+    // False when the class was compiled without -parameters and the names are only arg0, arg1, ...
+    boolean namedParameters() {
+        return namedParameters;
+    }
+
+    int parameterCount() {
+        return parameterProducers.length;
+    }
+
+    MemberWriter[] members() {
+        return members;
+    }
+
+    Object assemble(Object[] values) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+        if (members.length == 0) {
+            return invoker.invoke(values);
+        }
+
+        Object instance = invoker.invoke(Arrays.copyOf(values, parameterProducers.length));
+        for (int i = 0; i < members.length; i++) {
+            members[i].assign(instance, values[parameterProducers.length + i]);
+        }
+        return instance;
+    }
+
+    Object instantiate(GenerationContext context, int depth) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+        if (invoker == null) {
+            return null;
+        }
+
+        Object instance = construct(context, depth);
+        for (MemberWriter member : members) {
+            member.populate(instance, context, depth + 1);
+        }
+        return instance;
+    }
+
+    // Draws values in the same order as instantiate, so a written record matches the object it stands for
+    void emit(GenerationContext context, int depth, ValueWriter writer) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+        writer.beginObject(children.length);
+        for (int i = 0; i < children.length; i++) {
+            writer.name(childNames[i]);
+            children[i].emit(context, depth + 1, writer);
+        }
+        writer.endObject();
+    }
+
+    private Object construct(GenerationContext context, int depth) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+        if (factory != null) {
+            return factory.produce(context, depth + 1);
+        }
+
+        Object[] parameters = new Object[parameterProducers.length];
+        if (backReferences == null) {
+            for (int i = 0; i < parameters.length; i++) {
+                parameters[i] = parameterProducers[i].produce(context, depth + 1);
+            }
+            return invoker.invoke(parameters);
+        }
+
+        Class<?>[] cycleTargets = null;
+        context.takeCycleTarget();
+        for (int i = 0; i < parameters.length; i++) {
+            parameters[i] = parameterProducers[i].produce(context, depth + 1);
+            Class<?> target = context.takeCycleTarget();
+            if (target != null) {
+                if (cycleTargets == null) {
+                    cycleTargets = new Class<?>[parameters.length];
+                }
+                cycleTargets[i] = target;
+            }
+        }
+
+        Object instance = invoker.invoke(parameters);
+        deferBackReferences(context, instance, cycleTargets);
+        return instance;
+    }
+
+    // Parameters that closed a cycle were constructed as null and are patched once the cycle's owner is built
+    void deferBackReferences(GenerationContext context, Object instance, Class<?>[] cycleTargets) {
+        if (backReferences != null && cycleTargets != null) {
+            backReferences.defer(context, instance, cycleTargets);
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package org.example.generator;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Keeps a bounded buffer of ready instances per requested type, refilled on a dedicated pool of daemon
+// threads once it drops to half. Fill tasks never block: they stop when the buffer is full, so a few
+// threads can serve any number of types, and subscribers are only handed what they requested.
+public final class GenerationService implements AutoCloseable {
+    private static final Object FAILED = new Object();
+    private static final Object CLOSED = new Object();
+
+    private final Generator generator;
+    private final int capacity;
+    private final ExecutorService executor;
+    private final Map<Class<?>, Buffer> buffers = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    private GenerationService(Builder builder) {
+        this.generator = builder.generator;
+        this.capacity = builder.capacity;
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threads = runnable -> {
+            Thread thread = new Thread(runnable, "generation-service-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.executor = Executors.newFixedThreadPool(builder.threads, threads);
+    }
+
+    public static Builder builder(Generator generator) {
+        return new Builder(generator);
+    }
+
+    // Starts filling the buffers of these types before anyone asks for them
+    public void prefetch(Class<?>... types) {
+        for (Class<?> type : types) {
+            buffer(type).refill();
+        }
+    }
+
+    public <T> T take(Class<T> type) throws InterruptedException {
+        Buffer buffer = buffer(type);
+        buffer.refill();
+        Object value = buffer.queue.take();
+        buffer.refill();
+        return type.cast(buffer.unwrap(value));
+    }
+
+    public <T> Flow.Publisher<T> publisher(Class<T> type) {
+        return subscriber -> {
+            BufferSubscription<T> subscription = new BufferSubscription<>(type, buffer(type), subscriber);
+            subscriber.onSubscribe(subscription);
+        };
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        executor.shutdownNow();
+        // Waiting consumers only block on an empty buffer, so the marker always fits
+        for (Buffer buffer : buffers.values()) {
+            buffer.queue.offer(CLOSED);
+            buffer.signal();
+        }
+    }
+
+    private Buffer buffer(Class<?> type) {
+        if (closed) {
+            throw new IllegalStateException("Generation service is closed");
+        }
+        return buffers.computeIfAbsent(type, Buffer::new);
+    }
+
+    private boolean schedule(Runnable task) {
+        try {
+            executor.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private final class Buffer {
+        private final Class<?> type;
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(capacity);
+        private final AtomicBoolean filling = new AtomicBoolean();
+        private final Queue<Runnable> waiters = new ConcurrentLinkedQueue<>();
+        private Iterator<?> source;
+        private volatile RuntimeException failure;
+
+        Buffer(Class<?> type) {
+            this.type = type;
+        }
+
+        Object poll() {
+            Object value = queue.poll();
+            refill();
+            return value;
+        }
+
+        void refill() {
+            if (queue.size() <= capacity / 2 && failure == null && !closed && filling.compareAndSet(false, true)) {
+                if (!schedule(this::fill)) {
+                    filling.set(false);
+                }
+            }
+        }
+
+        // Only one fill runs per buffer, so the source needs no locking and there is always room for FAILED
+        private void fill() {
+            try {
+                if (source == null) {
+                    source = generator.stream(type).iterator();
+                }
+                while (!closed && queue.remainingCapacity() > 0) {
+                    queue.offer(source.next());
+                    signal();
+                }
+            } catch (RuntimeException e) {
+                failure = e;
+                queue.offer(FAILED);
+            } finally {
+                filling.set(false);
+            }
+            signal();
+            // Consumers that drained the buffer while this fill was finishing saw it still running
+            refill();
+        }
+
+        void await(Runnable waiter) {
+            waiters.add(waiter);
+            if (!queue.isEmpty()) {
+                signal();
+            }
+        }
+
+        void signal() {
+            Runnable waiter;
+            while ((waiter = waiters.poll()) != null) {
+                waiter.run();
+            }
+        }
+
+        // Markers stay in the buffer so every other consumer sees them too
+        Object unwrap(Object value) {
+            RuntimeException terminal = terminal(value);
+            if (terminal != null) {
+                throw terminal;
+            }
+            return value;
+        }
+
+        RuntimeException terminal(Object value) {
+            if (value == FAILED) {
+                queue.offer(FAILED);
+                return new GenerationException("Background generation of " + type.getName() + " failed", failure);
+            }
+            if (value == CLOSED) {
+                queue.offer(CLOSED);
+                return new IllegalStateException("Generation service is closed");
+            }
+            return null;
+        }
+    }
+
+    private final class BufferSubscription<T> implements Flow.Subscription {
+        private final Class<T> type;
+        private final Buffer buffer;
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        BufferSubscription(Class<T> type, Buffer buffer, Flow.Subscriber<? super T> subscriber) {
+            this.type = type;
+            this.buffer = buffer;
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("Requested " + n + " items; demand must be positive"));
+                return;
+            }
+            demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            drainLater();
+        }
+
+        @Override
+        public void cancel() {
+            done.set(true);
+        }
+
+        private void drainLater() {
+            if (pending.getAndIncrement() == 0 && !schedule(this::drain)) {
+                pending.set(0);
+                complete();
+            }
+        }
+
+        // Runs on the pool; an empty buffer parks the subscription until the next fill signals it
+        private void drain() {
+            int missed = 1;
+            do {
+                while (!done.get() && demand.get() > 0) {
+                    // A drain still running when the service closes must not hand out what is left in the buffer
+                    if (closed) {
+                        complete();
+                        break;
+                    }
+                    Object value = buffer.poll();
+                    if (value == null) {
+                        buffer.await(this::drainLater);
+                        break;
+                    }
+                    deliver(value);
+                    demand.decrementAndGet();
+                }
+                missed = pending.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void deliver(Object value) {
+            RuntimeException terminal = buffer.terminal(value);
+            if (terminal instanceof GenerationException) {
+                fail(terminal);
+            } else if (terminal != null) {
+                complete();
+            } else {
+                try {
+                    subscriber.onNext(type.cast(value));
+                } catch (RuntimeException e) {
+                    // A throwing subscriber is treated as having cancelled
+                    done.set(true);
+                }
+            }
+        }
+
+        private void complete() {
+            if (done.compareAndSet(false, true)) {
+                subscriber.onComplete();
+            }
+        }
+
+        private void fail(Throwable error) {
+            if (done.compareAndSet(false, true)) {
+                subscriber.onError(error);
+            }
+        }
+    }
+
+    public static final class Builder {
+        private final Generator generator;
+        private int capacity = 1024;
+        private int threads = Runtime.getRuntime().availableProcessors();
+
+        private Builder(Generator generator) {
+            this.generator = generator;
+        }
+
+        public Builder capacity(int capacity) {
+            if (capacity < 1) {
+                throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+            }
+            this.capacity = capacity;
+            return this;
+        }
+
+        public Builder threads(int threads) {
+            if (threads < 1) {
+                throw new IllegalArgumentException("Thread count must be positive: " + threads);
+            }
+            this.threads = threads;
+            return this;
+        }
+
+        public GenerationService build() {
+            return new GenerationService(this);
+        }
+    }
+}
@@ -1,234 +1,1065 @@
 package org.example.generator;
 
-import java.io.File;
+import org.example.generator.PrimitiveProducers.BooleanProducer;
+import org.example.generator.PrimitiveProducers.ByteProducer;
+import org.example.generator.PrimitiveProducers.CharProducer;
+import org.example.generator.PrimitiveProducers.DoubleProducer;
+import org.example.generator.PrimitiveProducers.FloatProducer;
+import org.example.generator.PrimitiveProducers.IntProducer;
+import org.example.generator.PrimitiveProducers.LongProducer;
+import org.example.generator.PrimitiveProducers.ShortProducer;
+import org.example.generator.PrimitiveProducers.StringProducer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
 import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
 import java.lang.reflect.Type;
-import java.net.URL;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
 import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 public class Generator {
-    private static final int MAX_RECURSION_DEPTH = 100;
-    private static final String SCAN_PACKAGE = "org.example.classes";
+    private static final int DEFAULT_MAX_DEPTH = 100;
+    private static final String DEFAULT_SCAN_PACKAGE = "org.example.classes";
+
+    private final SplittableRandom seedSource = new SplittableRandom();
+    private final ThreadLocal<RandomGenerator> threadRandom = ThreadLocal.withInitial(this::splitRandom);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Class<?>, Integer> typeIds = new ConcurrentHashMap<>();
+    private final AtomicInteger nextTypeId = new AtomicInteger();
+    private final ThreadLocal<GenerationContext> threadContext =
+            ThreadLocal.withInitial(() -> new GenerationContext(null, nextTypeId.get()));
+    private final boolean seeded;
+    private final long seed;
+    private final InvocationBackend invocationBackend;
+    private final PopulationStrategy populationStrategy;
+    private final boolean generatedFactories;
+    private final Traversal traversal;
+    private final int maxDepth;
+    private final CyclePolicy cyclePolicy;
+    private final double unrollProbability;
+    private final double reuseProbability;
+    private final List<String> scanPackages;
+    private final Path scanCacheDirectory;
+    private final SizeDistribution arrayLength;
+    private final SizeDistribution collectionSize;
+    private final SizeDistribution stringLength;
+    private final StringGenerator stringGenerator;
+    private final int stringPoolSize;
+    private final Map<String, Integer> parameterStringPools;
+    private final int intOrigin;
+    private final int intBound;
+    private final double doubleOrigin;
+    private final double doubleBound;
+    private final Map<String, SizeDistribution> parameterSizes;
+    private final Map<Class<?>, ValueProducer> leafProducers;
+    private final Map<Class<?>, ValueProducer> producers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, GenerationPlan> plans = new ConcurrentHashMap<>();
+    private final Map<Class<?>, List<Class<?>>> implementations = new ConcurrentHashMap<>();
+    private volatile Map<Class<?>, List<Class<?>>> implementationIndex;
+    private volatile Map<Class<?>, GeneratedFactory<?>> generatedFactoryIndex;
 
-    private final Random random = new Random();
-    private final Map<Class<?>, List<Class<?>>> implementationCache = new HashMap<>();
-    private boolean isScanned = false;
+    public Generator() {
+        this(new Builder());
+    }
+
+    private Generator(Builder builder) {
+        this.seeded = builder.seeded;
+        this.seed = builder.seed;
+        this.invocationBackend = builder.invocationBackend != null ? builder.invocationBackend : InvocationBackend.REFLECTION;
+        this.populationStrategy = builder.populationStrategy;
+        // An explicitly chosen backend replaces the generated factories unless they are asked for as well
+        this.generatedFactories = builder.generatedFactories != null
+                ? builder.generatedFactories
+                : builder.invocationBackend == null;
+        this.traversal = builder.traversal;
+        this.maxDepth = builder.maxDepth;
+        this.cyclePolicy = builder.cyclePolicy;
+        this.unrollProbability = builder.unrollProbability;
+        this.reuseProbability = builder.reuseProbability;
+        this.scanPackages = List.copyOf(builder.scanPackages);
+        this.scanCacheDirectory = builder.scanCacheDirectory;
+        this.arrayLength = builder.arrayLength;
+        this.collectionSize = builder.collectionSize;
+        this.stringLength = builder.stringLength;
+        this.stringGenerator = new StringGenerator(builder.alphabet);
+        this.stringPoolSize = builder.stringPoolSize;
+        this.parameterStringPools = Map.copyOf(builder.parameterStringPools);
+        this.intOrigin = builder.intOrigin;
+        this.intBound = builder.intBound;
+        this.doubleOrigin = builder.doubleOrigin;
+        this.doubleBound = builder.doubleBound;
+        this.parameterSizes = Map.copyOf(builder.parameterSizes);
+        this.leafProducers = createLeafProducers();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
 
     public Object generateValueOfType(Class<?> clazz) throws InvocationTargetException, InstantiationException, IllegalAccessException {
-        return generateValueOfType(clazz, 0, new HashSet<>());
+        return generateRoot(producerFor(clazz), rootRandom());
     }
 
-    private Object generateValueOfType(Class<?> clazz, int depth, Set<Class<?>> generationPath) throws InvocationTargetException, InstantiationException, IllegalAccessException {
-        if (depth > MAX_RECURSION_DEPTH) {
-            return null;
+    public <T> List<T> generate(Class<T> type, int count) {
+        requireCount(count);
+        return stream(type, count).collect(Collectors.toCollection(() -> new ArrayList<>(count)));
+    }
+
+    public <T> List<T> generateParallel(Class<T> type, int count) {
+        requireCount(count);
+        return stream(type, count).parallel().collect(Collectors.toCollection(() -> new ArrayList<>(count)));
+    }
+
+    public <T> Stream<T> stream(Class<T> type) {
+        return stream(type, Long.MAX_VALUE);
+    }
+
+    public <T> Stream<T> stream(Class<T> type, long count) {
+        requireCount(count);
+        ValueProducer producer = producerFor(type);
+        long batchSeed = rootRandom().nextLong();
+        return LongStream.range(0, count).mapToObj(index -> generateRoot(producer, batchSeed, index));
+    }
+
+    private static void requireCount(long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must be >= 0: " + count);
         }
+    }
 
-        if (clazz == int.class || clazz == Integer.class) {
-            return random.nextInt(1000);
+    public void write(Class<?> type, long count, OutputFormat format, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(type, count, format, channel);
         }
-        if (clazz == double.class || clazz == Double.class) {
-            return random.nextDouble() * 1000;
+    }
+
+    // Writes the values stream(type, count) would draw, straight from the plans without building objects.
+    // Records differ from built objects in three ways: sets and maps list every sampled element, including
+    // duplicates the built collection drops; null collection elements are written rather than skipped; and
+    // instance reuse and LINK back-references, which need object identity, do not apply
+    public void write(Class<?> type, long count, OutputFormat format, WritableByteChannel channel) throws IOException {
+        ValueProducer producer = producerFor(type);
+        String[] columns = format == OutputFormat.CSV ? csvColumns(type, producer) : null;
+        ValueWriter writer = format.open(new ChannelOutput(channel), columns);
+        long batchSeed = rootRandom().nextLong();
+
+        try {
+            for (long index = 0; index < count; index++) {
+                GenerationContext context = threadContext.get().reset(RandomStreams.substream(batchSeed, index));
+                writer.beginRecord();
+                try {
+                    producer.emit(context, 0, writer);
+                } catch (InvocationTargetException | InstantiationException | IllegalAccessException e) {
+                    throw new GenerationException("Failed to write object #" + index, e);
+                }
+                writer.endRecord();
+            }
+            writer.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            threadContext.get().release();
         }
-        if (clazz == boolean.class || clazz == Boolean.class) {
-            return random.nextBoolean();
+    }
+
+    // Record i holds the values stream(type, count) would produce for object #i with the same seed
+    public <T> GeneratedCorpus<T> corpus(Class<T> type, long count, Path path) throws IOException {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must not be negative: " + count);
         }
-        if (clazz == long.class || clazz == Long.class) {
-            return random.nextLong() % 1000;
+        RecordLayout layout = recordLayout(type);
+        long batchSeed = rootRandom().nextLong();
+        GenerationContext context = threadContext.get();
+        try {
+            return GeneratedCorpus.create(type, layout, count, path,
+                    index -> context.reset(RandomStreams.substream(batchSeed, index)));
+        } finally {
+            context.release();
         }
-        if (clazz == float.class || clazz == Float.class) {
-            return random.nextFloat() * 1000;
+    }
+
+    public <T> GeneratedCorpus<T> openCorpus(Class<T> type, Path path) throws IOException {
+        return GeneratedCorpus.open(type, recordLayout(type), path);
+    }
+
+    // Column-major values for types of primitives and strings, kept off-heap and never assembled into objects
+    public GeneratedColumns columns(Class<?> type, int rows) {
+        if (rows < 0) {
+            throw new IllegalArgumentException("Row count must not be negative: " + rows);
         }
-        if (clazz == byte.class || clazz == Byte.class) {
-            return (byte) random.nextInt(256);
+        RecordLayout.Column[] columns = RecordLayout.columns(type, concretePlan(type));
+        long batchSeed = rootRandom().nextLong();
+        GenerationContext context = threadContext.get();
+        try {
+            return GeneratedColumns.create(type, columns, rows,
+                    row -> context.reset(RandomStreams.substream(batchSeed, row)));
+        } finally {
+            context.release();
         }
-        if (clazz == short.class || clazz == Short.class) {
-            return (short) random.nextInt(1000);
+    }
+
+    // Opt-in recycling for hot loops: released instances are re-randomized on acquire by writing each constructor
+    // parameter's producer into the field (else setter) of the same name, then the plan's own members. This
+    // assumes constructors store their parameters unchanged; state a constructor derives from them is not redone
+    public <T> InstancePool<T> pool(Class<T> type, int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+        }
+        GenerationPlan plan = concretePlan(type);
+        if (type.isRecord()) {
+            throw new IllegalArgumentException("Records are immutable and cannot be re-randomized: " + type.getName());
         }
-        if (clazz == char.class || clazz == Character.class) {
-            return (char) ('a' + random.nextInt(26));
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isFinal(modifiers) && !Modifier.isStatic(modifiers) && !field.isSynthetic()) {
+                    throw new IllegalArgumentException("Final field " + c.getName() + "#" + field.getName()
+                            + " cannot be re-randomized in place");
+                }
+            }
         }
 
-        if (clazz == String.class) {
-            return generateRandomString();
+        Map<String, MemberAccessors.Accessor> writable = new HashMap<>();
+        for (MemberAccessors.Accessor setter : MemberAccessors.setters(type)) {
+            writable.put(MemberAccessors.propertyKey(setter.name()), setter);
+        }
+        for (MemberAccessors.Accessor field : MemberAccessors.fields(type, Set.of())) {
+            writable.put(MemberAccessors.propertyKey(field.name()), field);
         }
 
-        if (clazz == List.class) {
-            return new ArrayList<>();
+        if (!plan.namedParameters()) {
+            throw new IllegalArgumentException(parameterNamesMissing(type));
+        }
+        String[] names = plan.childNames();
+        ValueProducer[] children = plan.children();
+        MemberWriter[] planMembers = plan.members();
+        MemberWriter[] members = new MemberWriter[plan.parameterCount() + planMembers.length];
+        for (int i = 0; i < plan.parameterCount(); i++) {
+            MemberAccessors.Accessor accessor = writable.get(MemberAccessors.propertyKey(names[i]));
+            if (accessor == null) {
+                throw new IllegalArgumentException("Constructor parameter " + type.getName() + "#" + names[i]
+                        + " has no field or setter to re-randomize it through");
+            }
+            members[i] = MemberWriter.of(accessor.writer(), children[i]);
         }
+        System.arraycopy(planMembers, 0, members, plan.parameterCount(), planMembers.length);
 
-        if (generationPath.contains(clazz)) {
-            return null;
+        RandomGenerator random = RandomStreams.substream(rootRandom().nextLong(), 0);
+        return new InstancePool<>(type, producerFor(type), members, random,
+                new GenerationContext(random, nextTypeId.get()), capacity);
+    }
+
+    private RecordLayout recordLayout(Class<?> type) {
+        return RecordLayout.of(type, concretePlan(type));
+    }
+
+    private GenerationPlan concretePlan(Class<?> type) {
+        ValueProducer producer = producerFor(type);
+        GenerationPlan plan = producer instanceof ObjectProducer && !isPolymorphic(type)
+                ? ((ObjectProducer) producer).plan()
+                : GenerationPlan.EMPTY;
+        if (plan.isEmpty()) {
+            throw new IllegalArgumentException("Expected a concrete @Generatable class, not " + type.getName());
         }
+        return plan;
+    }
 
-        generationPath.add(clazz);
+    private static String[] csvColumns(Class<?> type, ValueProducer producer) {
+        if (!(producer instanceof ObjectProducer)) {
+            return new String[]{"value"};
+        }
+        if (isPolymorphic(type)) {
+            throw new IllegalArgumentException("CSV needs a fixed set of columns; " + type.getName() + " has several implementations");
+        }
+        return ((ObjectProducer) producer).plan().childNames();
+    }
 
+    @SuppressWarnings("unchecked")
+    private <T> T generateRoot(ValueProducer producer, long batchSeed, long index) {
         try {
-            if (clazz.isInterface()) {
-                return generateInterfaceImplementation(clazz, depth, generationPath);
-            }
+            return (T) generateRoot(producer, RandomStreams.substream(batchSeed, index));
+        } catch (InvocationTargetException | InstantiationException | IllegalAccessException e) {
+            throw new GenerationException("Failed to generate object #" + index, e);
+        }
+    }
 
-            if (!clazz.isAnnotationPresent(Generatable.class)) {
-                return null;
+    private Object generateRoot(ValueProducer producer, RandomGenerator random) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+        // Roots run to completion before the next starts on the same thread, so the context can be recycled
+        GenerationContext context = threadContext.get().reset(random);
+        try {
+            if (traversal == Traversal.ITERATIVE) {
+                return IterativeGraphBuilder.build(producer, context, 0);
             }
-
-            return generateInstanceFromConstructor(clazz, depth, generationPath);
+            return producer.produce(context, 0);
         } finally {
-            generationPath.remove(clazz);
+            context.release();
         }
     }
 
-    private String generateRandomString() {
-        int length = 5 + random.nextInt(10);
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < length; i++) {
-            sb.append((char) ('a' + random.nextInt(26)));
+    private RandomGenerator rootRandom() {
+        // Seeded generators number every root request so results depend only on the seed and call order
+        return seeded ? RandomStreams.substream(seed, sequence.getAndIncrement()) : threadRandom.get();
+    }
+
+    private RandomGenerator splitRandom() {
+        synchronized (seedSource) {
+            return seedSource.split();
         }
-        return sb.toString();
     }
 
-    private Object generateInterfaceImplementation(Class<?> interfaceClass, int depth, Set<Class<?>> generationPath) throws InvocationTargetException, InstantiationException, IllegalAccessException {
-        if (!isScanned) {
-            scanAllClasses();
+    private Object generateValueOfType(Class<?> clazz, GenerationContext context, int depth) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+        if (depth > maxDepth) {
+            return null;
         }
 
-        List<Class<?>> implementations = implementationCache.getOrDefault(interfaceClass, new ArrayList<>());
+        return producerFor(clazz).produce(context, depth);
+    }
+
+    private ValueProducer producerFor(Class<?> clazz) {
+        return producers.computeIfAbsent(clazz, this::compileProducer);
+    }
+
+    private boolean continueCycle(GenerationContext context) {
+        return cyclePolicy == CyclePolicy.UNROLL && context.random().nextDouble() < unrollProbability;
+    }
+
+    private Map<Class<?>, ValueProducer> createLeafProducers() {
+        Map<Class<?>, ValueProducer> producers = new HashMap<>();
+        int intOrigin = this.intOrigin;
+        int intBound = this.intBound;
+        double doubleOrigin = this.doubleOrigin;
+        double doubleBound = this.doubleBound;
+
+        registerLeafProducer(producers, (IntProducer) context -> context.random().nextInt(intOrigin, intBound), int.class, Integer.class);
+        registerLeafProducer(producers, (DoubleProducer) context -> context.random().nextDouble(doubleOrigin, doubleBound), double.class, Double.class);
+        registerLeafProducer(producers, (BooleanProducer) context -> context.random().nextBoolean(), boolean.class, Boolean.class);
+        registerLeafProducer(producers, (LongProducer) context -> context.random().nextLong() % 1000, long.class, Long.class);
+        registerLeafProducer(producers, (FloatProducer) context -> context.random().nextFloat() * 1000, float.class, Float.class);
+        registerLeafProducer(producers, (ByteProducer) context -> (byte) context.random().nextInt(256), byte.class, Byte.class);
+        registerLeafProducer(producers, (ShortProducer) context -> (short) context.random().nextInt(1000), short.class, Short.class);
+        registerLeafProducer(producers, (CharProducer) context -> (char) ('a' + context.random().nextInt(26)), char.class, Character.class);
+        registerLeafProducer(producers, stringProducer(stringLength, stringPoolSize, String.class.getName()), String.class);
+        registerLeafProducer(producers, (context, depth) -> new ArrayList<>(), List.class);
+        return producers;
+    }
+
+    private static void registerLeafProducer(Map<Class<?>, ValueProducer> producers, ValueProducer producer, Class<?>... types) {
+        for (Class<?> type : types) {
+            producers.put(type, producer);
+        }
+    }
+
+    private ValueProducer stringProducer(SizeDistribution lengths, int poolSize, String poolKey) {
+        StringGenerator strings = stringGenerator;
+        if (poolSize <= 0) {
+            return new StringProducer(lengths.max()) {
+                @Override
+                String produceString(GenerationContext context) {
+                    return strings.generate(context.random(), lengths.sample(context.random()));
+                }
+            };
+        }
+
+        // Pools are filled once at compile time from a stream derived from the seed, so seeded runs stay reproducible
+        RandomGenerator poolRandom = seeded ? RandomStreams.substream(seed, poolKey.hashCode()) : splitRandom();
+        String[] pool = new String[poolSize];
+        int maxLength = 0;
+        for (int i = 0; i < poolSize; i++) {
+            pool[i] = strings.generate(poolRandom, lengths.sample(poolRandom));
+            maxLength = Math.max(maxLength, pool[i].length());
+        }
+        return new StringProducer(maxLength) {
+            @Override
+            String produceString(GenerationContext context) {
+                return pool[context.random().nextInt(pool.length)];
+            }
+        };
+    }
+
+    private Object generateInterfaceImplementation(Class<?> interfaceClass, GenerationContext context, int depth) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+        List<Class<?>> implementations = implementationsOf(interfaceClass);
 
         if (implementations.isEmpty()) {
             return null;
         }
 
-        Class<?> selectedImpl = implementations.get(random.nextInt(implementations.size()));
-        return generateValueOfType(selectedImpl, depth, generationPath);
+        Class<?> selectedImpl = implementations.get(context.random().nextInt(implementations.size()));
+        return generateValueOfType(selectedImpl, context, depth);
     }
 
-    private void scanAllClasses() {
-        try {
-            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
-            String path = SCAN_PACKAGE.replace('.', '/');
-            URL resource = classLoader.getResource(path);
-
-            if (resource == null) {
-                return;
-            }
+    // Sealed hierarchies name their implementations directly; only non-sealed branches need the index or scan
+    private List<Class<?>> implementationsOf(Class<?> type) {
+        return implementations.computeIfAbsent(type, key -> key.isSealed()
+                ? permittedImplementations(key)
+                : implementationIndex().getOrDefault(key, List.of()));
+    }
 
-            File directory = new File(resource.getFile());
-            if (!directory.exists()) {
-                return;
+    private List<Class<?>> permittedImplementations(Class<?> sealedType) {
+        Set<Class<?>> permitted = new LinkedHashSet<>();
+        for (Class<?> subclass : sealedType.getPermittedSubclasses()) {
+            if (subclass.isSealed()) {
+                // A concrete sealed class is an implementation itself as well as the root of its own permitted subclasses
+                if (!isPolymorphic(subclass) && subclass.isAnnotationPresent(Generatable.class)) {
+                    permitted.add(subclass);
+                }
+                permitted.addAll(permittedImplementations(subclass));
+            } else if (subclass.isInterface() || Modifier.isAbstract(subclass.getModifiers())) {
+                // A non-sealed branch is open to any implementation, so it resolves like an unsealed type
+                permitted.addAll(implementationIndex().getOrDefault(subclass, List.of()));
+            } else if (subclass.isAnnotationPresent(Generatable.class)) {
+                permitted.add(subclass);
             }
+        }
+        List<Class<?>> sorted = new ArrayList<>(permitted);
+        sorted.sort(Comparator.comparing(Class::getName));
+        return List.copyOf(sorted);
+    }
 
-            List<Class<?>> allClasses = new ArrayList<>();
-            scanDirectory(directory, SCAN_PACKAGE, allClasses);
+    private static boolean isPolymorphic(Class<?> type) {
+        return type.isInterface() || (type.isSealed() && Modifier.isAbstract(type.getModifiers()));
+    }
 
-            for (Class<?> clazz : allClasses) {
-                if (!clazz.isInterface() && clazz.isAnnotationPresent(Generatable.class)) {
-                    for (Class<?> interfaceClass : clazz.getInterfaces()) {
-                        implementationCache.computeIfAbsent(interfaceClass, k -> new ArrayList<>()).add(clazz);
+    private Map<Class<?>, List<Class<?>>> implementationIndex() {
+        Map<Class<?>, List<Class<?>>> index = implementationIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = implementationIndex;
+                if (index == null) {
+                    index = GeneratableIndex.load(Thread.currentThread().getContextClassLoader());
+                    if (index == null) {
+                        index = new ClasspathScanner(scanPackages, scanCacheDirectory,
+                                Thread.currentThread().getContextClassLoader()).scan();
                     }
+                    implementationIndex = index;
                 }
             }
-
-            isScanned = true;
-        } catch (Exception e) {
         }
+        return index;
     }
 
-    private void scanDirectory(File directory, String packageName, List<Class<?>> allClasses) {
-        File[] files = directory.listFiles();
-        if (files == null) {
-            return;
-        }
-
-        for (File file : files) {
-            if (file.isDirectory()) {
-                scanDirectory(file, packageName + '.' + file.getName(), allClasses);
-            } else if (file.getName().endsWith(".class")) {
-                String className = packageName + '.' + file.getName().substring(0, file.getName().length() - 6);
-                try {
-                    Class<?> clazz = Class.forName(className);
-                    allClasses.add(clazz);
-                } catch (ClassNotFoundException e) {
+    private Map<Class<?>, GeneratedFactory<?>> generatedFactoryIndex() {
+        Map<Class<?>, GeneratedFactory<?>> index = generatedFactoryIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = generatedFactoryIndex;
+                if (index == null) {
+                    index = GeneratedFactories.load(Thread.currentThread().getContextClassLoader());
+                    generatedFactoryIndex = index;
                 }
             }
         }
+        return index;
     }
 
-    private Object generateInstanceFromConstructor(Class<?> clazz, int depth, Set<Class<?>> generationPath) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+    private GenerationPlan compilePlan(Class<?> clazz) {
         Constructor<?>[] constructors = clazz.getDeclaredConstructors();
 
         if (constructors.length == 0) {
-            return null;
+            return GenerationPlan.EMPTY;
         }
 
-        Constructor<?> selectedConstructor = Arrays.stream(constructors)
+        Constructor<?> widestConstructor = clazz.isRecord()
+                ? canonicalConstructor(clazz)
+                : Arrays.stream(constructors)
                 .max((c1, c2) -> Integer.compare(c1.getParameterCount(), c2.getParameterCount()))
                 .orElse(constructors[0]);
+        // Record state is final and fully described by the canonical constructor
+        boolean populateMembers = !clazz.isRecord() && (populationStrategy == PopulationStrategy.SETTERS
+                || populationStrategy == PopulationStrategy.FIELDS
+                || (populationStrategy == PopulationStrategy.AUTO && widestConstructor.getParameterCount() == 0));
+        Constructor<?> selectedConstructor = populateMembers
+                ? Arrays.stream(constructors).min(Comparator.comparingInt(Constructor::getParameterCount)).orElseThrow()
+                : widestConstructor;
+        selectedConstructor.setAccessible(true);
 
-        Object[] parameters = generateConstructorParameters(selectedConstructor, depth + 1, generationPath);
+        ValueProducer[] parameterProducers = compileParameterProducers(selectedConstructor);
+        List<MemberAccessors.Accessor> accessors = populateMembers ? memberAccessors(clazz, selectedConstructor) : List.of();
+        MemberWriter[] members = compileMemberWriters(clazz, accessors);
+        String[] childNames = childNames(selectedConstructor, accessors);
+        boolean namedParameters = Arrays.stream(selectedConstructor.getParameters()).allMatch(Parameter::isNamePresent);
+        checkNamedOverrides(clazz, childNames, namedParameters, populateMembers);
+        // Linking needs to see which parameters closed a cycle, which a composed factory hides
+        BackReferences backReferences = cyclePolicy == CyclePolicy.LINK ? BackReferences.resolve(selectedConstructor) : null;
+        GeneratedFactory<?> generated = generatedFactories ? generatedFactoryIndex().get(clazz) : null;
+        if (generated != null && GeneratedFactories.matches(generated, selectedConstructor)) {
+            ValueProducer factory = backReferences == null ? GeneratedFactories.producer(generated, parameterProducers) : null;
+            return new GenerationPlan(GeneratedFactories.invoker(generated), parameterProducers, factory, backReferences, members,
+                    childNames, namedParameters);
+        }
 
-        selectedConstructor.setAccessible(true);
-        return selectedConstructor.newInstance(parameters);
+        ConstructorInvoker invoker = selectedConstructor::newInstance;
+        ValueProducer factory = null;
+        try {
+            invoker = invocationBackend.bind(selectedConstructor);
+            if (backReferences == null) {
+                factory = invocationBackend.specialize(selectedConstructor, parameterProducers);
+            }
+        } catch (IllegalAccessException e) {
+            // Fall back to plain reflection for constructors the lookup cannot access
+        }
+
+        return new GenerationPlan(invoker, parameterProducers, factory, backReferences, members, childNames, namedParameters);
+    }
+
+    private static Constructor<?> canonicalConstructor(Class<?> record) {
+        RecordComponent[] components = record.getRecordComponents();
+        Class<?>[] types = new Class<?>[components.length];
+        for (int i = 0; i < components.length; i++) {
+            types[i] = components[i].getType();
+        }
+        try {
+            return record.getDeclaredConstructor(types);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Record without canonical constructor: " + record.getName(), e);
+        }
+    }
+
+    // Overrides and covered members are matched by name, so a name that matches nothing is a configuration error
+    private void checkNamedOverrides(Class<?> clazz, String[] childNames, boolean namedParameters, boolean populateMembers) {
+        String prefix = parameterKey(clazz, "");
+        Set<String> configured = new TreeSet<>();
+        for (String key : parameterSizes.keySet()) {
+            if (key.startsWith(prefix)) {
+                configured.add(key.substring(prefix.length()));
+            }
+        }
+        for (String key : parameterStringPools.keySet()) {
+            if (key.startsWith(prefix)) {
+                configured.add(key.substring(prefix.length()));
+            }
+        }
+
+        if (!namedParameters && (populateMembers || !configured.isEmpty())) {
+            throw new IllegalArgumentException(parameterNamesMissing(clazz));
+        }
+        configured.removeAll(Arrays.asList(childNames));
+        if (!configured.isEmpty()) {
+            throw new IllegalArgumentException("Overrides name no constructor parameter or member of "
+                    + clazz.getName() + ": " + configured + "; expected one of " + Arrays.toString(childNames));
+        }
+    }
+
+    private static String parameterNamesMissing(Class<?> clazz) {
+        return clazz.getName() + " was compiled without -parameters, so its constructor parameters cannot be matched by name";
+    }
+
+    // Properties the selected constructor already receives are not written a second time
+    private List<MemberAccessors.Accessor> memberAccessors(Class<?> clazz, Constructor<?> constructor) {
+        Set<String> covered = new HashSet<>();
+        for (Parameter parameter : constructor.getParameters()) {
+            covered.add(MemberAccessors.propertyKey(parameter.getName()));
+        }
+
+        List<MemberAccessors.Accessor> accessors = new ArrayList<>();
+        if (populationStrategy != PopulationStrategy.FIELDS) {
+            for (MemberAccessors.Accessor setter : MemberAccessors.setters(clazz)) {
+                if (covered.add(MemberAccessors.propertyKey(setter.name()))) {
+                    accessors.add(setter);
+                }
+            }
+        }
+        if (populationStrategy != PopulationStrategy.SETTERS) {
+            // AUTO writes fields directly only where no setter covers the property
+            accessors.addAll(MemberAccessors.fields(clazz, covered));
+        }
+        return accessors;
+    }
+
+    private MemberWriter[] compileMemberWriters(Class<?> clazz, List<MemberAccessors.Accessor> accessors) {
+        MemberWriter[] writers = new MemberWriter[accessors.size()];
+        for (int i = 0; i < writers.length; i++) {
+            MemberAccessors.Accessor accessor = accessors.get(i);
+            writers[i] = MemberWriter.of(accessor.writer(),
+                    compileNamedProducer(clazz, accessor.name(), accessor.type(), accessor.genericType()));
+        }
+        return writers;
     }
 
-    private Object[] generateConstructorParameters(Constructor<?> constructor, int depth, Set<Class<?>> generationPath) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+    private static String[] childNames(Constructor<?> constructor, List<MemberAccessors.Accessor> accessors) {
         Parameter[] parameters = constructor.getParameters();
-        Object[] parameterValues = new Object[parameters.length];
+        String[] names = new String[parameters.length + accessors.size()];
+        for (int i = 0; i < parameters.length; i++) {
+            names[i] = parameters[i].getName();
+        }
+        for (int i = 0; i < accessors.size(); i++) {
+            names[parameters.length + i] = accessors.get(i).name();
+        }
+        return names;
+    }
 
+    private ValueProducer[] compileParameterProducers(Constructor<?> constructor) {
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
         Type[] genericParameterTypes = constructor.getGenericParameterTypes();
+        Parameter[] parameters = constructor.getParameters();
+        ValueProducer[] producers = new ValueProducer[parameterTypes.length];
 
-        for (int i = 0; i < parameters.length; i++) {
-            Class<?> paramType = parameters[i].getType();
-            Type genericType = genericParameterTypes[i];
+        // Inner class constructors may omit the implicit outer instance from their generic signature
+        boolean genericTypesAligned = genericParameterTypes.length == parameterTypes.length;
 
-            if (genericType instanceof ParameterizedType) {
-                parameterValues[i] = generateParameterizedType((ParameterizedType) genericType, depth, generationPath);
-            } else {
-                parameterValues[i] = generateValueOfType(paramType, depth, generationPath);
-            }
+        for (int i = 0; i < parameterTypes.length; i++) {
+            producers[i] = compileNamedProducer(constructor.getDeclaringClass(), parameters[i].getName(), parameterTypes[i],
+                    genericTypesAligned ? genericParameterTypes[i] : parameterTypes[i]);
+        }
+
+        return producers;
+    }
+
+    // Constructor parameters and populated members share the per-name size and pool overrides
+    private ValueProducer compileNamedProducer(Class<?> owner, String name, Class<?> type, Type genericType) {
+        String key = parameterKey(owner, name);
+        SizeDistribution sizeOverride = parameterSizes.get(key);
+        Integer poolOverride = parameterStringPools.get(key);
+
+        if (type == String.class && poolOverride != null) {
+            return stringProducer(sizeOverride != null ? sizeOverride : stringLength, poolOverride, key);
         }
+        return compileTypeProducer(genericType, sizeOverride);
+    }
+
+    private static String parameterKey(Class<?> type, String parameter) {
+        return type.getName() + '#' + parameter;
+    }
+
+    private ValueProducer compileTypeProducer(Type type) {
+        return compileTypeProducer(type, null);
+    }
 
-        return parameterValues;
+    private ValueProducer compileTypeProducer(Type type, SizeDistribution sizeOverride) {
+        return compileTypeProducer(type, sizeOverride, Set.of());
     }
 
-    private Object generateParameterizedType(ParameterizedType parameterizedType, int depth, Set<Class<?>> generationPath) throws InvocationTargetException, InstantiationException, IllegalAccessException {
-        Type rawType = parameterizedType.getRawType();
+    private ValueProducer compileTypeProducer(Type type, SizeDistribution sizeOverride, Set<TypeVariable<?>> resolving) {
+        if (type instanceof Class) {
+            return compileProducer((Class<?>) type, sizeOverride);
+        }
 
-        if (rawType == List.class) {
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            Class<?> rawType = (Class<?>) parameterizedType.getRawType();
             Type[] typeArguments = parameterizedType.getActualTypeArguments();
-            if (typeArguments.length > 0) {
-                Type elementType = typeArguments[0];
-                return generateList(elementType, depth, generationPath);
+
+            Class<?>[] argumentTypes = new Class<?>[typeArguments.length];
+            ValueProducer[] argumentProducers = new ValueProducer[typeArguments.length];
+            for (int i = 0; i < typeArguments.length; i++) {
+                argumentTypes[i] = rawClass(typeArguments[i]);
+                argumentProducers[i] = compileTypeProducer(typeArguments[i], null, resolving);
             }
+
+            ValueProducer collectionProducer = CollectionProducers.forType(rawType, argumentTypes, argumentProducers,
+                    sizeOverride != null ? sizeOverride : collectionSize);
+            return collectionProducer != null ? collectionProducer : compileProducer(rawType);
+        }
+
+        if (type instanceof GenericArrayType) {
+            Type componentType = ((GenericArrayType) type).getGenericComponentType();
+            return ArrayProducers.forComponent(rawClass(componentType), compileTypeProducer(componentType, null, resolving),
+                    sizeOverride != null ? sizeOverride : arrayLength);
         }
 
-        return new ArrayList<>();
+        if (type instanceof WildcardType) {
+            WildcardType wildcardType = (WildcardType) type;
+            Type[] lowerBounds = wildcardType.getLowerBounds();
+            return compileTypeProducer(lowerBounds.length > 0 ? lowerBounds[0] : wildcardType.getUpperBounds()[0], null, resolving);
+        }
+
+        if (type instanceof TypeVariable) {
+            TypeVariable<?> variable = (TypeVariable<?>) type;
+            // A bound that mentions its own variable, as in T extends Comparable<T>, is cut off at its erasure
+            if (resolving.contains(variable)) {
+                return compileProducer(rawClass(variable));
+            }
+            Set<TypeVariable<?>> nested = new HashSet<>(resolving);
+            nested.add(variable);
+            return compileTypeProducer(variable.getBounds()[0], null, nested);
+        }
+
+        return (context, depth) -> null;
     }
 
-    private List<Object> generateList(Type elementType, int depth, Set<Class<?>> generationPath) throws InvocationTargetException, InstantiationException, IllegalAccessException {
-        List<Object> list = new ArrayList<>();
+    private static Class<?> rawClass(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        if (type instanceof GenericArrayType) {
+            return rawClass(((GenericArrayType) type).getGenericComponentType()).arrayType();
+        }
+        if (type instanceof WildcardType) {
+            WildcardType wildcardType = (WildcardType) type;
+            Type[] lowerBounds = wildcardType.getLowerBounds();
+            return rawClass(lowerBounds.length > 0 ? lowerBounds[0] : wildcardType.getUpperBounds()[0]);
+        }
+        if (type instanceof TypeVariable) {
+            return rawClass(((TypeVariable<?>) type).getBounds()[0]);
+        }
+        return Object.class;
+    }
+
+    private ValueProducer compileProducer(Class<?> type) {
+        return compileProducer(type, null);
+    }
+
+    private ValueProducer compileProducer(Class<?> type, SizeDistribution sizeOverride) {
+        if (sizeOverride != null && type == String.class) {
+            return stringProducer(sizeOverride, 0, null);
+        }
+
+        ValueProducer leafProducer = leafProducers.get(type);
+        if (leafProducer != null) {
+            return leafProducer;
+        }
+
+        if (type.isArray()) {
+            Class<?> componentType = type.getComponentType();
+            return ArrayProducers.forComponent(componentType, compileProducer(componentType),
+                    sizeOverride != null ? sizeOverride : arrayLength);
+        }
+
+        return new ObjectProducer(type, typeIds.computeIfAbsent(type, key -> nextTypeId.getAndIncrement()));
+    }
 
-        int size = random.nextInt(6);
+    private final class ObjectProducer implements CompositeProducer {
+        private final Class<?> type;
+        private final int typeId;
+        private final boolean polymorphic;
+        private GenerationPlan plan;
 
-        if (elementType instanceof Class) {
-            Class<?> elementClass = (Class<?>) elementType;
-            for (int i = 0; i < size; i++) {
-                Object element = generateValueOfType(elementClass, depth, generationPath);
-                if (element != null) {
-                    list.add(element);
+        ObjectProducer(Class<?> type, int typeId) {
+            this.type = type;
+            this.typeId = typeId;
+            this.polymorphic = isPolymorphic(type);
+        }
+
+        // Plans are immutable, so racing threads at worst look the same plan up twice
+        private GenerationPlan plan() {
+            GenerationPlan resolved = plan;
+            if (resolved == null) {
+                resolved = type.isAnnotationPresent(Generatable.class)
+                        ? plans.computeIfAbsent(type, Generator.this::compilePlan)
+                        : GenerationPlan.EMPTY;
+                plan = resolved;
+            }
+            return resolved;
+        }
+
+        @Override
+        public Object produce(GenerationContext context, int depth) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+            if (depth > maxDepth) {
+                return null;
+            }
+
+            if (reuseProbability > 0 && !polymorphic) {
+                Object shared = context.reuse(type, reuseProbability);
+                if (shared != null) {
+                    return shared;
+                }
+            }
+
+            boolean entered = context.enter(typeId);
+            if (!entered && !continueCycle(context)) {
+                return cycleReference(context);
+            }
+
+            try {
+                Object instance = polymorphic
+                        ? generateInterfaceImplementation(type, context, depth)
+                        : plan().instantiate(context, depth);
+                complete(context, entered ? type : null, instance);
+                return instance;
+            } finally {
+                if (entered) {
+                    context.exit(typeId);
+                }
+            }
+        }
+
+        @Override
+        public Expansion expand(GenerationContext context, int depth) {
+            if (depth > maxDepth) {
+                return Expansion.resolved(null);
+            }
+
+            if (reuseProbability > 0 && !polymorphic) {
+                Object shared = context.reuse(type, reuseProbability);
+                if (shared != null) {
+                    return Expansion.resolved(shared);
                 }
             }
+
+            boolean entered = context.enter(typeId);
+            if (!entered && !continueCycle(context)) {
+                return Expansion.resolved(cycleReference(context));
+            }
+            int enteredId = entered ? typeId : GenerationContext.NO_TYPE;
+            Class<?> enteredType = entered ? type : null;
+
+            if (polymorphic) {
+                List<Class<?>> implementations = implementationsOf(type);
+                if (implementations.isEmpty()) {
+                    exit(context, enteredId);
+                    return Expansion.resolved(null);
+                }
+
+                Class<?> selectedImpl = implementations.get(context.random().nextInt(implementations.size()));
+                return Expansion.of(new ValueProducer[]{producerFor(selectedImpl)}, depth, values -> values[0], enteredId,
+                        (ctx, value, cycleTargets) -> complete(ctx, enteredType, value));
+            }
+
+            GenerationPlan resolved = plan();
+            if (resolved.isEmpty()) {
+                exit(context, enteredId);
+                return Expansion.resolved(null);
+            }
+            return Expansion.of(resolved.children(), depth + 1, resolved::assemble, enteredId,
+                    (ctx, value, cycleTargets) -> {
+                        resolved.deferBackReferences(ctx, value, cycleTargets);
+                        complete(ctx, enteredType, value);
+                    });
+        }
+
+        private Object cycleReference(GenerationContext context) {
+            if (cyclePolicy == CyclePolicy.LINK) {
+                context.markCycleTarget(type);
+            }
+            return null;
         }
 
-        return list;
+        private void complete(GenerationContext context, Class<?> enteredType, Object instance) throws InvocationTargetException {
+            if (cyclePolicy == CyclePolicy.LINK && enteredType != null) {
+                context.completeBackReferences(enteredType, instance);
+            }
+            if (reuseProbability > 0 && instance != null && !polymorphic) {
+                context.remember(type, instance);
+            }
+        }
+
+        @Override
+        public void emit(GenerationContext context, int depth, ValueWriter writer) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+            if (depth > maxDepth) {
+                writer.nullValue();
+                return;
+            }
+
+            // Written records have no identity, so instance reuse and cycle linking do not apply here
+            boolean entered = context.enter(typeId);
+            if (!entered && !continueCycle(context)) {
+                writer.nullValue();
+                return;
+            }
+
+            try {
+                if (polymorphic) {
+                    List<Class<?>> implementations = implementationsOf(type);
+                    if (implementations.isEmpty()) {
+                        writer.nullValue();
+                        return;
+                    }
+                    int selected = context.random().nextInt(implementations.size());
+                    writer.variant(selected, implementations.get(selected));
+                    producerFor(implementations.get(selected)).emit(context, depth, writer);
+                    return;
+                }
+
+                GenerationPlan resolved = plan();
+                if (resolved.isEmpty()) {
+                    writer.nullValue();
+                } else {
+                    resolved.emit(context, depth, writer);
+                }
+            } finally {
+                if (entered) {
+                    context.exit(typeId);
+                }
+            }
+        }
+
+        private void exit(GenerationContext context, int enteredId) {
+            if (enteredId != GenerationContext.NO_TYPE) {
+                context.exit(enteredId);
+            }
+        }
+    }
+
+    public static final class Builder {
+        private InvocationBackend invocationBackend;
+        private PopulationStrategy populationStrategy = PopulationStrategy.CONSTRUCTOR;
+        private Boolean generatedFactories;
+        private boolean seeded;
+        private long seed;
+        private Traversal traversal = Traversal.RECURSIVE;
+        private int maxDepth = DEFAULT_MAX_DEPTH;
+        private CyclePolicy cyclePolicy = CyclePolicy.BREAK;
+        private double unrollProbability = 0.5;
+        private double reuseProbability;
+        private List<String> scanPackages = List.of(DEFAULT_SCAN_PACKAGE);
+        private Path scanCacheDirectory;
+        private SizeDistribution arrayLength = SizeDistribution.uniform(0, 5);
+        private SizeDistribution collectionSize = SizeDistribution.uniform(0, 5);
+        private SizeDistribution stringLength = SizeDistribution.uniform(5, 14);
+        private Alphabet alphabet = Alphabet.LOWERCASE;
+        private int stringPoolSize;
+        private final Map<String, Integer> parameterStringPools = new HashMap<>();
+        private int intOrigin = 0;
+        private int intBound = 1000;
+        private double doubleOrigin = 0;
+        private double doubleBound = 1000;
+        private final Map<String, SizeDistribution> parameterSizes = new HashMap<>();
+
+        private Builder() {
+        }
+
+        public Builder seed(long seed) {
+            this.seeded = true;
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder invocationBackend(InvocationBackend invocationBackend) {
+            this.invocationBackend = invocationBackend;
+            return this;
+        }
+
+        public Builder populationStrategy(PopulationStrategy populationStrategy) {
+            this.populationStrategy = populationStrategy;
+            return this;
+        }
+
+        public Builder generatedFactories(boolean enabled) {
+            this.generatedFactories = enabled;
+            return this;
+        }
+
+        public Builder traversal(Traversal traversal) {
+            this.traversal = traversal;
+            return this;
+        }
+
+        public Builder maxDepth(int maxDepth) {
+            if (maxDepth < 0) {
+                throw new IllegalArgumentException("Max depth must not be negative: " + maxDepth);
+            }
+            this.maxDepth = maxDepth;
+            return this;
+        }
+
+        public Builder cyclePolicy(CyclePolicy cyclePolicy) {
+            this.cyclePolicy = cyclePolicy;
+            return this;
+        }
+
+        public Builder unrollProbability(double probability) {
+            if (probability < 0 || probability > 1) {
+                throw new IllegalArgumentException("Unroll probability must be within [0, 1]: " + probability);
+            }
+            this.unrollProbability = probability;
+            return this;
+        }
+
+        public Builder reuseProbability(double probability) {
+            if (probability < 0 || probability > 1) {
+                throw new IllegalArgumentException("Reuse probability must be within [0, 1]: " + probability);
+            }
+            this.reuseProbability = probability;
+            return this;
+        }
+
+        public Builder scanPackages(String... packages) {
+            this.scanPackages = List.of(packages);
+            return this;
+        }
+
+        public Builder scanCacheDirectory(Path directory) {
+            this.scanCacheDirectory = directory;
+            return this;
+        }
+
+        public Builder arrayLength(SizeDistribution arrayLength) {
+            this.arrayLength = arrayLength;
+            return this;
+        }
+
+        public Builder collectionSize(SizeDistribution collectionSize) {
+            this.collectionSize = collectionSize;
+            return this;
+        }
+
+        public Builder stringLength(SizeDistribution stringLength) {
+            this.stringLength = stringLength;
+            return this;
+        }
+
+        public Builder alphabet(Alphabet alphabet) {
+            this.alphabet = alphabet;
+            return this;
+        }
+
+        public Builder stringPoolSize(int size) {
+            this.stringPoolSize = size;
+            return this;
+        }
+
+        public Builder stringPool(Class<?> type, String parameter, int size) {
+            this.parameterStringPools.put(parameterKey(type, parameter), size);
+            return this;
+        }
+
+        public Builder intRange(int origin, int bound) {
+            if (origin >= bound) {
+                throw new IllegalArgumentException("Invalid int range [" + origin + ", " + bound + ")");
+            }
+            this.intOrigin = origin;
+            this.intBound = bound;
+            return this;
+        }
+
+        public Builder doubleRange(double origin, double bound) {
+            if (!(origin < bound)) {
+                throw new IllegalArgumentException("Invalid double range [" + origin + ", " + bound + ")");
+            }
+            this.doubleOrigin = origin;
+            this.doubleBound = bound;
+            return this;
+        }
+
+        public Builder size(Class<?> type, String parameter, SizeDistribution size) {
+            this.parameterSizes.put(parameterKey(type, parameter), size);
+            return this;
+        }
+
+        public Generator build() {
+            return new Generator(this);
+        }
     }
 }
@@ -0,0 +1,41 @@
+package org.example.generator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+final class HiddenFactories {
+    private static final byte[] TEMPLATE = readTemplate();
+
+    private HiddenFactories() {
+    }
+
+    // Hidden classes are not strongly linked to their defining loader, so a factory is unloaded with its plan
+    static ValueProducer define(MethodHandle factory) throws IllegalAccessException {
+        MethodHandles.Lookup hidden = MethodHandles.lookup().defineHiddenClassWithClassData(TEMPLATE, factory, true);
+        try {
+            return (ValueProducer) hidden.findConstructor(hidden.lookupClass(), MethodType.methodType(void.class)).invoke();
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Factory template has no default constructor", e);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to instantiate hidden factory", e);
+        }
+    }
+
+    private static byte[] readTemplate() {
+        String resource = HiddenFactoryTemplate.class.getSimpleName() + ".class";
+        try (InputStream in = HiddenFactories.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing factory template " + resource);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
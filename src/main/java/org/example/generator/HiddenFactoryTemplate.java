@@ -0,0 +1,31 @@
+package org.example.generator;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.InvocationTargetException;
+
+// Never loaded directly: HiddenFactories defines a hidden copy of these bytes per plan, passing the
+// composed factory as class data so FACTORY is a true constant the JIT can inline through
+final class HiddenFactoryTemplate implements ValueProducer {
+    private static final MethodHandle FACTORY;
+
+    static {
+        try {
+            FACTORY = MethodHandles.classData(MethodHandles.lookup(), ConstantDescs.DEFAULT_NAME, MethodHandle.class);
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Override
+    public Object produce(GenerationContext context, int depth) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+        try {
+            return (Object) FACTORY.invokeExact(context, depth);
+        } catch (InvocationTargetException | InstantiationException | IllegalAccessException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.generator;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayDeque;
+import java.util.random.RandomGenerator;
+
+// Recycles instances by writing fresh values through the plan's producers instead of constructing new ones.
+// Primitive members go through the typed member writers, so with pooled strings a warm acquire/release loop allocates
+// nothing. Pools own their random stream and context and are meant to be confined to one thread.
+public final class InstancePool<T> {
+    private final Class<T> type;
+    private final ValueProducer producer;
+    private final MemberWriter[] members;
+    private final RandomGenerator random;
+    private final GenerationContext context;
+    private final ArrayDeque<T> free;
+    private final int capacity;
+
+    InstancePool(Class<T> type, ValueProducer producer, MemberWriter[] members, RandomGenerator random,
+                 GenerationContext context, int capacity) {
+        this.type = type;
+        this.producer = producer;
+        this.members = members;
+        this.random = random;
+        this.context = context;
+        this.capacity = capacity;
+        this.free = new ArrayDeque<>(capacity);
+        for (int i = 0; i < capacity; i++) {
+            free.push(create());
+        }
+    }
+
+    // Pooled instances come back with every writable field re-drawn; an empty pool falls back to construction
+    public T acquire() {
+        T instance = free.poll();
+        if (instance == null) {
+            return create();
+        }
+
+        context.reset(random);
+        try {
+            for (MemberWriter member : members) {
+                member.populate(instance, context, 1);
+            }
+        } catch (InvocationTargetException | InstantiationException | IllegalAccessException e) {
+            throw new GenerationException("Failed to re-randomize pooled " + type.getName(), e);
+        }
+        return instance;
+    }
+
+    // Instances beyond the pool's capacity are left to the garbage collector
+    public void release(T instance) {
+        if (instance != null && free.size() < capacity) {
+            free.push(instance);
+        }
+    }
+
+    public int available() {
+        return free.size();
+    }
+
+    private T create() {
+        try {
+            return type.cast(producer.produce(context.reset(random), 0));
+        } catch (InvocationTargetException | InstantiationException | IllegalAccessException e) {
+            throw new GenerationException("Failed to generate pooled " + type.getName(), e);
+        }
+    }
+}
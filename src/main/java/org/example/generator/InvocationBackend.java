@@ -0,0 +1,69 @@
+package org.example.generator;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+
+public enum InvocationBackend {
+    REFLECTION {
+        @Override
+        ConstructorInvoker bind(Constructor<?> constructor) {
+            return constructor::newInstance;
+        }
+    },
+    METHOD_HANDLE {
+        @Override
+        ConstructorInvoker bind(Constructor<?> constructor) throws IllegalAccessException {
+            return bindSpreader(constructor);
+        }
+    },
+    SPECIALIZED {
+        @Override
+        ConstructorInvoker bind(Constructor<?> constructor) throws IllegalAccessException {
+            return bindSpreader(constructor);
+        }
+
+        @Override
+        ValueProducer specialize(Constructor<?> constructor, ValueProducer[] parameterProducers) throws IllegalAccessException {
+            return PlanHandles.asProducer(compose(constructor, parameterProducers));
+        }
+    },
+    HIDDEN_CLASS {
+        @Override
+        ConstructorInvoker bind(Constructor<?> constructor) throws IllegalAccessException {
+            return bindSpreader(constructor);
+        }
+
+        @Override
+        ValueProducer specialize(Constructor<?> constructor, ValueProducer[] parameterProducers) throws IllegalAccessException {
+            return HiddenFactories.define(compose(constructor, parameterProducers));
+        }
+    };
+
+    abstract ConstructorInvoker bind(Constructor<?> constructor) throws IllegalAccessException;
+
+    ValueProducer specialize(Constructor<?> constructor, ValueProducer[] parameterProducers) throws IllegalAccessException {
+        return null;
+    }
+
+    private static MethodHandle compose(Constructor<?> constructor, ValueProducer[] parameterProducers) throws IllegalAccessException {
+        return PlanHandles.compose(MethodHandles.lookup().unreflectConstructor(constructor), parameterProducers);
+    }
+
+    private static ConstructorInvoker bindSpreader(Constructor<?> constructor) throws IllegalAccessException {
+        MethodHandle handle = MethodHandles.lookup().unreflectConstructor(constructor);
+        MethodHandle spreader = handle.asType(handle.type().generic())
+                .asSpreader(Object[].class, constructor.getParameterCount())
+                .asType(MethodType.methodType(Object.class, Object[].class));
+
+        return arguments -> {
+            try {
+                return (Object) spreader.invokeExact(arguments);
+            } catch (Throwable e) {
+                throw new InvocationTargetException(e);
+            }
+        };
+    }
+}
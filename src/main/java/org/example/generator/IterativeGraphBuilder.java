@@ -0,0 +1,110 @@
+package org.example.generator;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+final class IterativeGraphBuilder {
+    private IterativeGraphBuilder() {
+    }
+
+    static Object build(ValueProducer root, GenerationContext context, int depth) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+        if (!(root instanceof CompositeProducer)) {
+            return root.produce(context, depth);
+        }
+
+        Expansion rootExpansion = ((CompositeProducer) root).expand(context, depth);
+        if (rootExpansion.isResolved()) {
+            return rootExpansion.value();
+        }
+
+        Deque<Frame> stack = new ArrayDeque<>();
+        stack.push(new Frame(rootExpansion));
+
+        try {
+            while (true) {
+                Frame top = stack.peek();
+
+                if (top.hasNextChild()) {
+                    ValueProducer child = top.nextChild();
+                    if (child instanceof CompositeProducer) {
+                        Expansion expansion = ((CompositeProducer) child).expand(context, top.childDepth());
+                        if (expansion.isResolved()) {
+                            top.accept(expansion.value(), context);
+                        } else {
+                            stack.push(new Frame(expansion));
+                        }
+                    } else {
+                        top.accept(child.produce(context, top.childDepth()), context);
+                    }
+                    continue;
+                }
+
+                stack.pop();
+                Object value;
+                try {
+                    value = top.assemble(context);
+                } finally {
+                    top.exit(context);
+                }
+
+                if (stack.isEmpty()) {
+                    return value;
+                }
+                stack.peek().accept(value, context);
+            }
+        } finally {
+            // Only non-empty when generation failed part way; leave the path clean for the caller
+            while (!stack.isEmpty()) {
+                stack.pop().exit(context);
+            }
+        }
+    }
+
+    private static final class Frame {
+        private final Expansion expansion;
+        private final ValueProducer[] children;
+        private final Object[] values;
+        private Class<?>[] cycleTargets;
+        private int next;
+
+        Frame(Expansion expansion) {
+            this.expansion = expansion;
+            this.children = expansion.children();
+            this.values = new Object[children.length];
+        }
+
+        boolean hasNextChild() {
+            return next < children.length;
+        }
+
+        ValueProducer nextChild() {
+            return children[next];
+        }
+
+        int childDepth() {
+            return expansion.childDepth();
+        }
+
+        void accept(Object value, GenerationContext context) {
+            Class<?> target = context.takeCycleTarget();
+            if (target != null) {
+                if (cycleTargets == null) {
+                    cycleTargets = new Class<?>[children.length];
+                }
+                cycleTargets[next] = target;
+            }
+            values[next++] = value;
+        }
+
+        Object assemble(GenerationContext context) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+            Object value = expansion.assemble(values);
+            expansion.complete(context, value, cycleTargets);
+            return value;
+        }
+
+        void exit(GenerationContext context) {
+            expansion.exit(context);
+        }
+    }
+}
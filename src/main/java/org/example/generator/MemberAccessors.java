@@ -0,0 +1,112 @@
+package org.example.generator;
+
+import java.beans.Introspector;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+final class MemberAccessors {
+    private MemberAccessors() {
+    }
+
+    // Subclass setters shadow inherited ones of the same property
+    static List<Accessor> setters(Class<?> type) {
+        Map<String, Accessor> setters = new LinkedHashMap<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Method method : c.getDeclaredMethods()) {
+                String name = method.getName();
+                if (name.length() <= 3 || !name.startsWith("set") || method.getParameterCount() != 1
+                        || Modifier.isStatic(method.getModifiers()) || method.isSynthetic() || method.isBridge()) {
+                    continue;
+                }
+
+                String property = Introspector.decapitalize(name.substring(3));
+                if (setters.containsKey(property)) {
+                    continue;
+                }
+                try {
+                    method.setAccessible(true);
+                    MethodHandle handle = MethodHandles.lookup().unreflect(method);
+                    setters.put(property, new Accessor(property, method.getParameterTypes()[0],
+                            method.getGenericParameterTypes()[0], handle.asType(handle.type().changeReturnType(void.class))));
+                } catch (IllegalAccessException | RuntimeException e) {
+                    // Inaccessible setters are left for field population or skipped
+                }
+            }
+        }
+        return List.copyOf(setters.values());
+    }
+
+    // Setter properties keep acronyms upper-case (setURL is URL), so coverage ignores case to match the url field
+    static String propertyKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    // Final fields are excluded: their VarHandles are read-only. Excluded names are property keys
+    static List<Accessor> fields(Class<?> type, Set<String> excluded) {
+        List<Accessor> fields = new ArrayList<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            MethodHandles.Lookup lookup;
+            try {
+                lookup = MethodHandles.privateLookupIn(c, MethodHandles.lookup());
+            } catch (IllegalAccessException e) {
+                continue;
+            }
+
+            for (Field field : c.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || Modifier.isTransient(modifiers)
+                        || field.isSynthetic() || excluded.contains(propertyKey(field.getName()))) {
+                    continue;
+                }
+                try {
+                    MethodHandle writer = lookup.unreflectVarHandle(field).toMethodHandle(VarHandle.AccessMode.SET);
+                    fields.add(new Accessor(field.getName(), field.getType(), field.getGenericType(), writer));
+                } catch (IllegalAccessException e) {
+                    // Skip fields the lookup cannot write
+                }
+            }
+        }
+        return fields;
+    }
+
+    static final class Accessor {
+        private final String name;
+        private final Class<?> type;
+        private final Type genericType;
+        private final MethodHandle writer;
+
+        Accessor(String name, Class<?> type, Type genericType, MethodHandle writer) {
+            this.name = name;
+            this.type = type;
+            this.genericType = genericType;
+            this.writer = writer;
+        }
+
+        String name() {
+            return name;
+        }
+
+        Class<?> type() {
+            return type;
+        }
+
+        Type genericType() {
+            return genericType;
+        }
+
+        MethodHandle writer() {
+            return writer;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.generator;
+
+import org.example.generator.PrimitiveProducers.BooleanProducer;
+import org.example.generator.PrimitiveProducers.ByteProducer;
+import org.example.generator.PrimitiveProducers.CharProducer;
+import org.example.generator.PrimitiveProducers.DoubleProducer;
+import org.example.generator.PrimitiveProducers.FloatProducer;
+import org.example.generator.PrimitiveProducers.IntProducer;
+import org.example.generator.PrimitiveProducers.LongProducer;
+import org.example.generator.PrimitiveProducers.ShortProducer;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+
+abstract class MemberWriter {
+    private final Class<?> type;
+    private final MethodHandle generic;
+    private final ValueProducer producer;
+
+    private MemberWriter(MethodHandle writer, ValueProducer producer) {
+        this.type = writer.type().parameterType(1);
+        this.generic = writer.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        this.producer = producer;
+    }
+
+    // Adapts a (Owner, T)void setter or field writer; primitive members keep a typed path that never boxes
+    static MemberWriter of(MethodHandle writer, ValueProducer producer) {
+        Class<?> type = writer.type().parameterType(1);
+        MethodHandle typed = writer.asType(MethodType.methodType(void.class, Object.class, type));
+
+        if (type == int.class && producer instanceof IntProducer) {
+            IntProducer ints = (IntProducer) producer;
+            return new MemberWriter(writer, producer) {
+                @Override
+                void write(Object target, GenerationContext context, int depth) throws Throwable {
+                    typed.invokeExact(target, ints.produceInt(context));
+                }
+            };
+        }
+        if (type == long.class && producer instanceof LongProducer) {
+            LongProducer longs = (LongProducer) producer;
+            return new MemberWriter(writer, producer) {
+                @Override
+                void write(Object target, GenerationContext context, int depth) throws Throwable {
+                    typed.invokeExact(target, longs.produceLong(context));
+                }
+            };
+        }
+        if (type == double.class && producer instanceof DoubleProducer) {
+            DoubleProducer doubles = (DoubleProducer) producer;
+            return new MemberWriter(writer, producer) {
+                @Override
+                void write(Object target, GenerationContext context, int depth) throws Throwable {
+                    typed.invokeExact(target, doubles.produceDouble(context));
+                }
+            };
+        }
+        if (type == float.class && producer instanceof FloatProducer) {
+            FloatProducer floats = (FloatProducer) producer;
+            return new MemberWriter(writer, producer) {
+                @Override
+                void write(Object target, GenerationContext context, int depth) throws Throwable {
+                    typed.invokeExact(target, floats.produceFloat(context));
+                }
+            };
+        }
+        if (type == boolean.class && producer instanceof BooleanProducer) {
+            BooleanProducer booleans = (BooleanProducer) producer;
+            return new MemberWriter(writer, producer) {
+                @Override
+                void write(Object target, GenerationContext context, int depth) throws Throwable {
+                    typed.invokeExact(target, booleans.produceBoolean(context));
+                }
+            };
+        }
+        if (type == byte.class && producer instanceof ByteProducer) {
+            ByteProducer bytes = (ByteProducer) producer;
+            return new MemberWriter(writer, producer) {
+                @Override
+                void write(Object target, GenerationContext context, int depth) throws Throwable {
+                    typed.invokeExact(target, bytes.produceByte(context));
+                }
+            };
+        }
+        if (type == short.class && producer instanceof ShortProducer) {
+            ShortProducer shorts = (ShortProducer) producer;
+            return new MemberWriter(writer, producer) {
+                @Override
+                void write(Object target, GenerationContext context, int depth) throws Throwable {
+                    typed.invokeExact(target, shorts.produceShort(context));
+                }
+            };
+        }
+        if (type == char.class && producer instanceof CharProducer) {
+            CharProducer chars = (CharProducer) producer;
+            return new MemberWriter(writer, producer) {
+                @Override
+                void write(Object target, GenerationContext context, int depth) throws Throwable {
+                    typed.invokeExact(target, chars.produceChar(context));
+                }
+            };
+        }
+
+        return new MemberWriter(writer, producer) {
+            @Override
+            void write(Object target, GenerationContext context, int depth) throws Throwable {
+                assign(target, producer.produce(context, depth));
+            }
+        };
+    }
+
+    ValueProducer producer() {
+        return producer;
+    }
+
+    abstract void write(Object target, GenerationContext context, int depth) throws Throwable;
+
+    void populate(Object target, GenerationContext context, int depth) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+        try {
+            write(target, context, depth);
+        } catch (InvocationTargetException | InstantiationException | IllegalAccessException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    void assign(Object target, Object value) throws InvocationTargetException {
+        // Primitive members left null by the depth limit keep their default instead of failing to unbox
+        if (value == null && type.isPrimitive()) {
+            return;
+        }
+        try {
+            generic.invokeExact(target, value);
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+}
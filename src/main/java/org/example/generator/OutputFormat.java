@@ -0,0 +1,26 @@
+package org.example.generator;
+
+public enum OutputFormat {
+    JSON_LINES {
+        @Override
+        ValueWriter open(ChannelOutput output, String[] columns) {
+            return new TextValueWriter(output, false);
+        }
+    },
+    CSV {
+        @Override
+        ValueWriter open(ChannelOutput output, String[] columns) {
+            TextValueWriter writer = new TextValueWriter(output, true);
+            writer.header(columns);
+            return writer;
+        }
+    },
+    BINARY {
+        @Override
+        ValueWriter open(ChannelOutput output, String[] columns) {
+            return new BinaryValueWriter(output);
+        }
+    };
+
+    abstract ValueWriter open(ChannelOutput output, String[] columns);
+}
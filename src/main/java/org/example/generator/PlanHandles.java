@@ -0,0 +1,116 @@
+package org.example.generator;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+
+final class PlanHandles {
+    static final MethodType FACTORY_TYPE = MethodType.methodType(Object.class, GenerationContext.class, int.class);
+
+    private static final MethodHandle PRODUCE;
+    private static final MethodHandle PRODUCE_INT;
+    private static final MethodHandle PRODUCE_LONG;
+    private static final MethodHandle PRODUCE_DOUBLE;
+    private static final MethodHandle PRODUCE_FLOAT;
+    private static final MethodHandle PRODUCE_BOOLEAN;
+    private static final MethodHandle PRODUCE_BYTE;
+    private static final MethodHandle PRODUCE_SHORT;
+    private static final MethodHandle PRODUCE_CHAR;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            PRODUCE = lookup.findVirtual(ValueProducer.class, "produce", FACTORY_TYPE);
+            PRODUCE_INT = findPrimitive(lookup, PrimitiveProducers.IntProducer.class, "produceInt", int.class);
+            PRODUCE_LONG = findPrimitive(lookup, PrimitiveProducers.LongProducer.class, "produceLong", long.class);
+            PRODUCE_DOUBLE = findPrimitive(lookup, PrimitiveProducers.DoubleProducer.class, "produceDouble", double.class);
+            PRODUCE_FLOAT = findPrimitive(lookup, PrimitiveProducers.FloatProducer.class, "produceFloat", float.class);
+            PRODUCE_BOOLEAN = findPrimitive(lookup, PrimitiveProducers.BooleanProducer.class, "produceBoolean", boolean.class);
+            PRODUCE_BYTE = findPrimitive(lookup, PrimitiveProducers.ByteProducer.class, "produceByte", byte.class);
+            PRODUCE_SHORT = findPrimitive(lookup, PrimitiveProducers.ShortProducer.class, "produceShort", short.class);
+            PRODUCE_CHAR = findPrimitive(lookup, PrimitiveProducers.CharProducer.class, "produceChar", char.class);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private PlanHandles() {
+    }
+
+    static MethodHandle compose(MethodHandle constructor, ValueProducer[] producers) {
+        MethodHandle factory = constructor;
+        Class<?>[] parameterTypes = constructor.type().parameterArray();
+
+        // Replace parameters right to left so the positions of the remaining ones do not shift
+        for (int i = producers.length - 1; i >= 0; i--) {
+            factory = MethodHandles.collectArguments(factory, i, producerHandle(producers[i], parameterTypes[i]));
+        }
+
+        int[] reorder = new int[producers.length * 2];
+        for (int i = 0; i < producers.length; i++) {
+            reorder[i * 2] = 0;
+            reorder[i * 2 + 1] = 1;
+        }
+
+        MethodType factoryType = MethodType.methodType(constructor.type().returnType(), GenerationContext.class, int.class);
+        if (producers.length == 0) {
+            factory = MethodHandles.dropArguments(factory, 0, GenerationContext.class, int.class);
+        } else {
+            factory = MethodHandles.permuteArguments(factory, factoryType, reorder);
+        }
+        return factory.asType(FACTORY_TYPE);
+    }
+
+    static ValueProducer asProducer(MethodHandle factory) {
+        return (context, depth) -> {
+            try {
+                return (Object) factory.invokeExact(context, depth);
+            } catch (InvocationTargetException | InstantiationException | IllegalAccessException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new InvocationTargetException(e);
+            }
+        };
+    }
+
+    static MethodHandle producerHandle(ValueProducer producer, Class<?> type) {
+        MethodHandle primitive = primitiveHandle(producer);
+        MethodHandle handle = primitive == null
+                ? PRODUCE.bindTo(producer)
+                : MethodHandles.dropArguments(primitive, 1, int.class);
+        return handle.asType(handle.type().changeReturnType(type));
+    }
+
+    private static MethodHandle primitiveHandle(ValueProducer producer) {
+        if (producer instanceof PrimitiveProducers.IntProducer) {
+            return PRODUCE_INT.bindTo(producer);
+        }
+        if (producer instanceof PrimitiveProducers.LongProducer) {
+            return PRODUCE_LONG.bindTo(producer);
+        }
+        if (producer instanceof PrimitiveProducers.DoubleProducer) {
+            return PRODUCE_DOUBLE.bindTo(producer);
+        }
+        if (producer instanceof PrimitiveProducers.FloatProducer) {
+            return PRODUCE_FLOAT.bindTo(producer);
+        }
+        if (producer instanceof PrimitiveProducers.BooleanProducer) {
+            return PRODUCE_BOOLEAN.bindTo(producer);
+        }
+        if (producer instanceof PrimitiveProducers.ByteProducer) {
+            return PRODUCE_BYTE.bindTo(producer);
+        }
+        if (producer instanceof PrimitiveProducers.ShortProducer) {
+            return PRODUCE_SHORT.bindTo(producer);
+        }
+        if (producer instanceof PrimitiveProducers.CharProducer) {
+            return PRODUCE_CHAR.bindTo(producer);
+        }
+        return null;
+    }
+
+    private static MethodHandle findPrimitive(MethodHandles.Lookup lookup, Class<?> producerType, String name, Class<?> returnType) throws NoSuchMethodException, IllegalAccessException {
+        return lookup.findVirtual(producerType, name, MethodType.methodType(returnType, GenerationContext.class));
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.generator;
+
+public enum PopulationStrategy {
+    CONSTRUCTOR,
+    SETTERS,
+    FIELDS,
+    AUTO
+}
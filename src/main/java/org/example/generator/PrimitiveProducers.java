@@ -0,0 +1,151 @@
+package org.example.generator;
+
+final class PrimitiveProducers {
+    private PrimitiveProducers() {
+    }
+
+    @FunctionalInterface
+    interface IntProducer extends ValueProducer {
+        int produceInt(GenerationContext context);
+
+        @Override
+        default Object produce(GenerationContext context, int depth) {
+            return produceInt(context);
+        }
+
+        @Override
+        default void emit(GenerationContext context, int depth, ValueWriter writer) {
+            writer.intValue(produceInt(context));
+        }
+    }
+
+    @FunctionalInterface
+    interface LongProducer extends ValueProducer {
+        long produceLong(GenerationContext context);
+
+        @Override
+        default Object produce(GenerationContext context, int depth) {
+            return produceLong(context);
+        }
+
+        @Override
+        default void emit(GenerationContext context, int depth, ValueWriter writer) {
+            writer.longValue(produceLong(context));
+        }
+    }
+
+    @FunctionalInterface
+    interface DoubleProducer extends ValueProducer {
+        double produceDouble(GenerationContext context);
+
+        @Override
+        default Object produce(GenerationContext context, int depth) {
+            return produceDouble(context);
+        }
+
+        @Override
+        default void emit(GenerationContext context, int depth, ValueWriter writer) {
+            writer.doubleValue(produceDouble(context));
+        }
+    }
+
+    @FunctionalInterface
+    interface FloatProducer extends ValueProducer {
+        float produceFloat(GenerationContext context);
+
+        @Override
+        default Object produce(GenerationContext context, int depth) {
+            return produceFloat(context);
+        }
+
+        @Override
+        default void emit(GenerationContext context, int depth, ValueWriter writer) {
+            writer.floatValue(produceFloat(context));
+        }
+    }
+
+    @FunctionalInterface
+    interface BooleanProducer extends ValueProducer {
+        boolean produceBoolean(GenerationContext context);
+
+        @Override
+        default Object produce(GenerationContext context, int depth) {
+            return produceBoolean(context);
+        }
+
+        @Override
+        default void emit(GenerationContext context, int depth, ValueWriter writer) {
+            writer.booleanValue(produceBoolean(context));
+        }
+    }
+
+    @FunctionalInterface
+    interface ByteProducer extends ValueProducer {
+        byte produceByte(GenerationContext context);
+
+        @Override
+        default Object produce(GenerationContext context, int depth) {
+            return produceByte(context);
+        }
+
+        @Override
+        default void emit(GenerationContext context, int depth, ValueWriter writer) {
+            writer.byteValue(produceByte(context));
+        }
+    }
+
+    @FunctionalInterface
+    interface ShortProducer extends ValueProducer {
+        short produceShort(GenerationContext context);
+
+        @Override
+        default Object produce(GenerationContext context, int depth) {
+            return produceShort(context);
+        }
+
+        @Override
+        default void emit(GenerationContext context, int depth, ValueWriter writer) {
+            writer.shortValue(produceShort(context));
+        }
+    }
+
+    @FunctionalInterface
+    interface CharProducer extends ValueProducer {
+        char produceChar(GenerationContext context);
+
+        @Override
+        default Object produce(GenerationContext context, int depth) {
+            return produceChar(context);
+        }
+
+        @Override
+        default void emit(GenerationContext context, int depth, ValueWriter writer) {
+            writer.charValue(produceChar(context));
+        }
+    }
+
+    // Strings keep their length bound so fixed-width layouts can size a slot for them
+    abstract static class StringProducer implements ValueProducer {
+        private final int maxLength;
+
+        StringProducer(int maxLength) {
+            this.maxLength = maxLength;
+        }
+
+        abstract String produceString(GenerationContext context);
+
+        int maxLength() {
+            return maxLength;
+        }
+
+        @Override
+        public Object produce(GenerationContext context, int depth) {
+            return produceString(context);
+        }
+
+        @Override
+        public void emit(GenerationContext context, int depth, ValueWriter writer) {
+            writer.stringValue(produceString(context));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.generator;
+
+import java.util.SplittableRandom;
+
+final class RandomStreams {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private RandomStreams() {
+    }
+
+    static SplittableRandom substream(long seed, long index) {
+        return new SplittableRandom(mix64(seed + (index + 1) * GOLDEN_GAMMA));
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
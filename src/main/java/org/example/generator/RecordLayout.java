@@ -0,0 +1,268 @@
+package org.example.generator;
+
+import org.example.generator.PrimitiveProducers.BooleanProducer;
+import org.example.generator.PrimitiveProducers.ByteProducer;
+import org.example.generator.PrimitiveProducers.CharProducer;
+import org.example.generator.PrimitiveProducers.DoubleProducer;
+import org.example.generator.PrimitiveProducers.FloatProducer;
+import org.example.generator.PrimitiveProducers.IntProducer;
+import org.example.generator.PrimitiveProducers.LongProducer;
+import org.example.generator.PrimitiveProducers.ShortProducer;
+import org.example.generator.PrimitiveProducers.StringProducer;
+
+import java.lang.reflect.InvocationTargetException;
+import java.nio.ByteBuffer;
+
+// Fixed-width encoding of a flat type: one column per constructor parameter and populated member, in the
+// order the plan draws them, so a record holds exactly the values generation would have passed in.
+// Strings take a slot of an int length followed by maxLength chars.
+final class RecordLayout {
+    static final int UNBOUNDED = -1;
+
+    private final Class<?> type;
+    private final GenerationPlan plan;
+    private final Column[] columns;
+    private final int recordSize;
+
+    private RecordLayout(Class<?> type, GenerationPlan plan, Column[] columns, int recordSize) {
+        this.type = type;
+        this.plan = plan;
+        this.columns = columns;
+        this.recordSize = recordSize;
+    }
+
+    static RecordLayout of(Class<?> type, GenerationPlan plan) {
+        Column[] columns = columns(type, plan);
+        int offset = 0;
+        for (Column column : columns) {
+            if (column.width == UNBOUNDED) {
+                throw new IllegalArgumentException("String " + type.getName() + "#" + column.name
+                        + " has no bounded length; configure it with a fixed, uniform or zipf SizeDistribution");
+            }
+            column.offset = offset;
+            try {
+                offset = Math.addExact(offset, column.width);
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("Records of " + type.getName() + " do not fit in 2 GiB");
+            }
+        }
+        // A type without state still needs a distinct position per record
+        return new RecordLayout(type, plan, columns, Math.max(offset, 1));
+    }
+
+    // Typed columns in the plan's draw order; unbounded strings get an UNBOUNDED width
+    static Column[] columns(Class<?> type, GenerationPlan plan) {
+        String[] names = plan.childNames();
+        ValueProducer[] children = plan.children();
+        Column[] columns = new Column[children.length];
+        for (int i = 0; i < children.length; i++) {
+            columns[i] = column(type, names[i], children[i]);
+            columns[i].producer = children[i];
+        }
+        return columns;
+    }
+
+    private static Column column(Class<?> owner, String name, ValueProducer producer) {
+        if (producer instanceof IntProducer) {
+            IntProducer ints = (IntProducer) producer;
+            return new Column(name, "int", Integer.BYTES) {
+                @Override
+                void write(GenerationContext context, ByteBuffer buffer, int position) {
+                    buffer.putInt(position, ints.produceInt(context));
+                }
+
+                @Override
+                Object read(ByteBuffer buffer, int position) {
+                    return buffer.getInt(position);
+                }
+            };
+        }
+        if (producer instanceof LongProducer) {
+            LongProducer longs = (LongProducer) producer;
+            return new Column(name, "long", Long.BYTES) {
+                @Override
+                void write(GenerationContext context, ByteBuffer buffer, int position) {
+                    buffer.putLong(position, longs.produceLong(context));
+                }
+
+                @Override
+                Object read(ByteBuffer buffer, int position) {
+                    return buffer.getLong(position);
+                }
+            };
+        }
+        if (producer instanceof DoubleProducer) {
+            DoubleProducer doubles = (DoubleProducer) producer;
+            return new Column(name, "double", Double.BYTES) {
+                @Override
+                void write(GenerationContext context, ByteBuffer buffer, int position) {
+                    buffer.putDouble(position, doubles.produceDouble(context));
+                }
+
+                @Override
+                Object read(ByteBuffer buffer, int position) {
+                    return buffer.getDouble(position);
+                }
+            };
+        }
+        if (producer instanceof FloatProducer) {
+            FloatProducer floats = (FloatProducer) producer;
+            return new Column(name, "float", Float.BYTES) {
+                @Override
+                void write(GenerationContext context, ByteBuffer buffer, int position) {
+                    buffer.putFloat(position, floats.produceFloat(context));
+                }
+
+                @Override
+                Object read(ByteBuffer buffer, int position) {
+                    return buffer.getFloat(position);
+                }
+            };
+        }
+        if (producer instanceof BooleanProducer) {
+            BooleanProducer booleans = (BooleanProducer) producer;
+            return new Column(name, "boolean", 1) {
+                @Override
+                void write(GenerationContext context, ByteBuffer buffer, int position) {
+                    buffer.put(position, booleans.produceBoolean(context) ? (byte) 1 : (byte) 0);
+                }
+
+                @Override
+                Object read(ByteBuffer buffer, int position) {
+                    return buffer.get(position) != 0;
+                }
+            };
+        }
+        if (producer instanceof ByteProducer) {
+            ByteProducer bytes = (ByteProducer) producer;
+            return new Column(name, "byte", 1) {
+                @Override
+                void write(GenerationContext context, ByteBuffer buffer, int position) {
+                    buffer.put(position, bytes.produceByte(context));
+                }
+
+                @Override
+                Object read(ByteBuffer buffer, int position) {
+                    return buffer.get(position);
+                }
+            };
+        }
+        if (producer instanceof ShortProducer) {
+            ShortProducer shorts = (ShortProducer) producer;
+            return new Column(name, "short", Short.BYTES) {
+                @Override
+                void write(GenerationContext context, ByteBuffer buffer, int position) {
+                    buffer.putShort(position, shorts.produceShort(context));
+                }
+
+                @Override
+                Object read(ByteBuffer buffer, int position) {
+                    return buffer.getShort(position);
+                }
+            };
+        }
+        if (producer instanceof CharProducer) {
+            CharProducer chars = (CharProducer) producer;
+            return new Column(name, "char", Character.BYTES) {
+                @Override
+                void write(GenerationContext context, ByteBuffer buffer, int position) {
+                    buffer.putChar(position, chars.produceChar(context));
+                }
+
+                @Override
+                Object read(ByteBuffer buffer, int position) {
+                    return buffer.getChar(position);
+                }
+            };
+        }
+        if (producer instanceof StringProducer) {
+            StringProducer strings = (StringProducer) producer;
+            int maxLength = strings.maxLength();
+            int width = maxLength > (Integer.MAX_VALUE - Integer.BYTES) / Character.BYTES
+                    ? UNBOUNDED
+                    : Integer.BYTES + maxLength * Character.BYTES;
+            return new Column(name, "string" + maxLength, width) {
+                @Override
+                void write(GenerationContext context, ByteBuffer buffer, int position) {
+                    String value = strings.produceString(context);
+                    buffer.putInt(position, value.length());
+                    for (int i = 0; i < value.length(); i++) {
+                        buffer.putChar(position + Integer.BYTES + i * Character.BYTES, value.charAt(i));
+                    }
+                }
+
+                @Override
+                Object read(ByteBuffer buffer, int position) {
+                    char[] chars = new char[buffer.getInt(position)];
+                    for (int i = 0; i < chars.length; i++) {
+                        chars[i] = buffer.getChar(position + Integer.BYTES + i * Character.BYTES);
+                    }
+                    return new String(chars);
+                }
+            };
+        }
+        throw new IllegalArgumentException(owner.getName() + "#" + name
+                + " is not a primitive or String, so it has no fixed-width encoding");
+    }
+
+    int recordSize() {
+        return recordSize;
+    }
+
+    // Identifies the encoding, so a stored corpus is only read back with the layout it was written with
+    String signature() {
+        StringBuilder signature = new StringBuilder(type.getName());
+        for (Column column : columns) {
+            signature.append(',').append(column.name).append(':').append(column.kind);
+        }
+        return signature.toString();
+    }
+
+    void write(GenerationContext context, ByteBuffer buffer, int position) {
+        for (Column column : columns) {
+            column.write(context, buffer, position + column.offset);
+        }
+    }
+
+    Object read(ByteBuffer buffer, int position) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+        Object[] values = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            values[i] = columns[i].read(buffer, position + columns[i].offset);
+        }
+        return plan.assemble(values);
+    }
+
+    abstract static class Column {
+        private final String name;
+        private final String kind;
+        private final int width;
+        private int offset;
+        private ValueProducer producer;
+
+        Column(String name, String kind, int width) {
+            this.name = name;
+            this.kind = kind;
+            this.width = width;
+        }
+
+        String name() {
+            return name;
+        }
+
+        String kind() {
+            return kind;
+        }
+
+        int width() {
+            return width;
+        }
+
+        ValueProducer producer() {
+            return producer;
+        }
+
+        abstract void write(GenerationContext context, ByteBuffer buffer, int position);
+
+        abstract Object read(ByteBuffer buffer, int position);
+    }
+}
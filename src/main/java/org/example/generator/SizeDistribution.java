@@ -0,0 +1,70 @@
+package org.example.generator;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+@FunctionalInterface
+public interface SizeDistribution {
+    int sample(RandomGenerator random);
+
+    // Upper bound of sample; fixed-width layouts size their slots from it, so custom lambdas count as unbounded
+    default int max() {
+        return Integer.MAX_VALUE;
+    }
+
+    static SizeDistribution fixed(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size must not be negative: " + size);
+        }
+        return bounded(size, random -> size);
+    }
+
+    static SizeDistribution uniform(int min, int max) {
+        if (min < 0 || max < min) {
+            throw new IllegalArgumentException("Invalid size range [" + min + ", " + max + "]");
+        }
+        return bounded(max, random -> min + random.nextInt(max - min + 1));
+    }
+
+    static SizeDistribution zipf(int min, int max, double exponent) {
+        if (min < 0 || max < min) {
+            throw new IllegalArgumentException("Invalid size range [" + min + ", " + max + "]");
+        }
+        if (exponent <= 0) {
+            throw new IllegalArgumentException("Zipf exponent must be positive: " + exponent);
+        }
+
+        // Rank k (1-based) maps to size min + k - 1, so the smallest size is the most frequent one
+        double[] cumulative = new double[max - min + 1];
+        double total = 0;
+        for (int rank = 1; rank <= cumulative.length; rank++) {
+            total += 1 / Math.pow(rank, exponent);
+            cumulative[rank - 1] = total;
+        }
+        for (int i = 0; i < cumulative.length; i++) {
+            cumulative[i] /= total;
+        }
+
+        return bounded(max, random -> {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            if (index < 0) {
+                index = -index - 1;
+            }
+            return min + Math.min(index, cumulative.length - 1);
+        });
+    }
+
+    private static SizeDistribution bounded(int max, SizeDistribution sampler) {
+        return new SizeDistribution() {
+            @Override
+            public int sample(RandomGenerator random) {
+                return sampler.sample(random);
+            }
+
+            @Override
+            public int max() {
+                return max;
+            }
+        };
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.generator;
+
+import java.nio.charset.StandardCharsets;
+import java.util.random.RandomGenerator;
+
+final class StringGenerator {
+    private final char[] characters;
+    private final byte[] latin1;
+    private final long size;
+
+    StringGenerator(Alphabet alphabet) {
+        this.characters = alphabet.characters();
+        this.latin1 = alphabet.latin1();
+        this.size = alphabet.size();
+    }
+
+    String generate(RandomGenerator random, int length) {
+        return latin1 != null ? generateLatin1(random, length) : generateUtf16(random, length);
+    }
+
+    // Latin-1 strings are backed by a byte[] anyway, so filling bytes avoids the char[] and StringBuilder round trip
+    private String generateLatin1(RandomGenerator random, int length) {
+        byte[] bytes = new byte[length];
+        int i = 0;
+        for (; i + 1 < length; i += 2) {
+            long bits = random.nextLong();
+            bytes[i] = latin1[index(bits)];
+            bytes[i + 1] = latin1[index(bits >>> 32)];
+        }
+        if (i < length) {
+            bytes[i] = latin1[index(random.nextLong())];
+        }
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    private String generateUtf16(RandomGenerator random, int length) {
+        char[] chars = new char[length];
+        int i = 0;
+        for (; i + 1 < length; i += 2) {
+            long bits = random.nextLong();
+            chars[i] = characters[index(bits)];
+            chars[i + 1] = characters[index(bits >>> 32)];
+        }
+        if (i < length) {
+            chars[i] = characters[index(random.nextLong())];
+        }
+        return new String(chars);
+    }
+
+    // Maps 32 random bits onto [0, size) with a multiply-shift; the bias is below size / 2^32
+    private int index(long bits) {
+        return (int) (((bits & 0xFFFFFFFFL) * size) >>> 32);
+    }
+}
@@ -0,0 +1,240 @@
+package org.example.generator;
+
+import java.util.Arrays;
+
+// JSON Lines, or CSV whose top-level fields are cells and whose nested values are JSON inside a quoted cell
+final class TextValueWriter extends ValueWriter {
+    private final ChannelOutput output;
+    private final boolean csv;
+    private boolean[] arrayLevels = new boolean[16];
+    private boolean[] firstAtLevel = new boolean[16];
+    private int level;
+    private boolean afterName;
+    private boolean jsonCell;
+    private int jsonCellLevel;
+    private String pendingType;
+
+    TextValueWriter(ChannelOutput output, boolean csv) {
+        this.output = output;
+        this.csv = csv;
+    }
+
+    void header(String[] columns) {
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                output.put(',');
+            }
+            csvString(columns[i]);
+        }
+        output.put('\n');
+    }
+
+    @Override
+    void beginRecord() {
+        level = 0;
+        afterName = false;
+        jsonCell = false;
+    }
+
+    @Override
+    void endRecord() {
+        output.put('\n');
+    }
+
+    @Override
+    void beginObject(int fieldCount) {
+        if (csv && level == 0) {
+            push(false);
+            return;
+        }
+        beginNested();
+        output.put('{');
+        push(false);
+        if (pendingType != null) {
+            String type = pendingType;
+            pendingType = null;
+            name("@type");
+            stringValue(type);
+        }
+    }
+
+    @Override
+    void name(String name) {
+        if (!firstAtLevel[level]) {
+            output.put(',');
+        }
+        firstAtLevel[level] = false;
+        if (!isCell()) {
+            jsonString(name);
+            output.put(':');
+        }
+        afterName = true;
+    }
+
+    @Override
+    void endObject() {
+        level--;
+        if (!(csv && level == 0 && !jsonCell)) {
+            output.put('}');
+            endNested();
+        }
+    }
+
+    @Override
+    void variant(int index, Class<?> type) {
+        pendingType = type.getName();
+    }
+
+    @Override
+    void beginArray(int size) {
+        beginNested();
+        output.put('[');
+        push(true);
+    }
+
+    @Override
+    void endArray() {
+        level--;
+        output.put(']');
+        endNested();
+    }
+
+    @Override
+    void nullValue() {
+        pendingType = null;
+        if (isCell()) {
+            separate();
+            return;
+        }
+        scalar("null");
+    }
+
+    @Override
+    void intValue(int value) {
+        scalar(Integer.toString(value));
+    }
+
+    @Override
+    void longValue(long value) {
+        scalar(Long.toString(value));
+    }
+
+    @Override
+    void doubleValue(double value) {
+        scalar(Double.isFinite(value) ? Double.toString(value) : "null");
+    }
+
+    @Override
+    void floatValue(float value) {
+        scalar(Float.isFinite(value) ? Float.toString(value) : "null");
+    }
+
+    @Override
+    void booleanValue(boolean value) {
+        scalar(value ? "true" : "false");
+    }
+
+    @Override
+    void charValue(char value) {
+        stringValue(String.valueOf(value));
+    }
+
+    @Override
+    void stringValue(String value) {
+        separate();
+        if (isCell()) {
+            csvString(value);
+        } else {
+            jsonString(value);
+        }
+    }
+
+    @Override
+    void flush() {
+        output.flush();
+    }
+
+    // True where a value is a whole CSV cell rather than part of nested JSON
+    private boolean isCell() {
+        return csv && !jsonCell;
+    }
+
+    private void scalar(String text) {
+        separate();
+        output.putAscii(text);
+    }
+
+    private void separate() {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (level > 0 && arrayLevels[level]) {
+            if (!firstAtLevel[level]) {
+                output.put(',');
+            }
+            firstAtLevel[level] = false;
+        }
+    }
+
+    private void beginNested() {
+        separate();
+        if (isCell()) {
+            output.put('"');
+            output.doubleQuotes(true);
+            jsonCell = true;
+            jsonCellLevel = level;
+        }
+    }
+
+    private void endNested() {
+        if (jsonCell && level == jsonCellLevel) {
+            output.doubleQuotes(false);
+            output.put('"');
+            jsonCell = false;
+        }
+    }
+
+    private void push(boolean array) {
+        level++;
+        if (level == arrayLevels.length) {
+            arrayLevels = Arrays.copyOf(arrayLevels, level * 2);
+            firstAtLevel = Arrays.copyOf(firstAtLevel, level * 2);
+        }
+        arrayLevels[level] = array;
+        firstAtLevel[level] = true;
+    }
+
+    private void jsonString(String value) {
+        output.put('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                output.put('\\');
+                output.put(c);
+            } else if (c < 0x20) {
+                output.putAscii(String.format("\\u%04x", (int) c));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()) {
+                output.putCodePoint(Character.toCodePoint(c, value.charAt(++i)));
+            } else {
+                output.putUtf8(c);
+            }
+        }
+        output.put('"');
+    }
+
+    private void csvString(String value) {
+        output.put('"');
+        output.doubleQuotes(true);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isHighSurrogate(c) && i + 1 < value.length()) {
+                output.putCodePoint(Character.toCodePoint(c, value.charAt(++i)));
+            } else {
+                output.putUtf8(c);
+            }
+        }
+        output.doubleQuotes(false);
+        output.put('"');
+    }
+}
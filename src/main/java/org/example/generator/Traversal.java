@@ -0,0 +1,6 @@
+package org.example.generator;
+
+public enum Traversal {
+    RECURSIVE,
+    ITERATIVE
+}
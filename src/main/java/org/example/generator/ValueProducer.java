@@ -0,0 +1,12 @@
+package org.example.generator;
+
+import java.lang.reflect.InvocationTargetException;
+
+@FunctionalInterface
+interface ValueProducer {
+    Object produce(GenerationContext context, int depth) throws InvocationTargetException, InstantiationException, IllegalAccessException;
+
+    default void emit(GenerationContext context, int depth, ValueWriter writer) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+        writer.value(produce(context, depth));
+    }
+}
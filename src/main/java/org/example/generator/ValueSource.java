@@ -0,0 +1,24 @@
+package org.example.generator;
+
+/**
+ * Supplies the constructor arguments of a {@link GeneratedFactory}, addressed by parameter position.
+ */
+public interface ValueSource {
+    int nextInt(int parameter) throws ReflectiveOperationException;
+
+    long nextLong(int parameter) throws ReflectiveOperationException;
+
+    double nextDouble(int parameter) throws ReflectiveOperationException;
+
+    float nextFloat(int parameter) throws ReflectiveOperationException;
+
+    boolean nextBoolean(int parameter) throws ReflectiveOperationException;
+
+    byte nextByte(int parameter) throws ReflectiveOperationException;
+
+    short nextShort(int parameter) throws ReflectiveOperationException;
+
+    char nextChar(int parameter) throws ReflectiveOperationException;
+
+    Object nextObject(int parameter) throws ReflectiveOperationException;
+}
@@ -0,0 +1,106 @@
+package org.example.generator;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+// Receives one generated value tree at a time, in generation order, without the objects being built
+abstract class ValueWriter {
+    abstract void beginRecord();
+
+    abstract void endRecord();
+
+    abstract void beginObject(int fieldCount);
+
+    abstract void name(String name);
+
+    abstract void endObject();
+
+    // Precedes the object chosen for an interface or sealed type
+    abstract void variant(int index, Class<?> type);
+
+    abstract void beginArray(int size);
+
+    abstract void endArray();
+
+    abstract void nullValue();
+
+    abstract void intValue(int value);
+
+    abstract void longValue(long value);
+
+    abstract void doubleValue(double value);
+
+    abstract void floatValue(float value);
+
+    abstract void booleanValue(boolean value);
+
+    abstract void charValue(char value);
+
+    abstract void stringValue(String value);
+
+    void byteValue(byte value) {
+        intValue(value);
+    }
+
+    void shortValue(short value) {
+        intValue(value);
+    }
+
+    void flush() {
+    }
+
+    // Fallback for producers that can only hand over a finished value
+    void value(Object value) {
+        if (value == null) {
+            nullValue();
+        } else if (value instanceof String) {
+            stringValue((String) value);
+        } else if (value instanceof Integer) {
+            intValue((Integer) value);
+        } else if (value instanceof Long) {
+            longValue((Long) value);
+        } else if (value instanceof Double) {
+            doubleValue((Double) value);
+        } else if (value instanceof Float) {
+            floatValue((Float) value);
+        } else if (value instanceof Boolean) {
+            booleanValue((Boolean) value);
+        } else if (value instanceof Character) {
+            charValue((Character) value);
+        } else if (value instanceof Byte) {
+            byteValue((Byte) value);
+        } else if (value instanceof Short) {
+            shortValue((Short) value);
+        } else if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            beginArray(length);
+            for (int i = 0; i < length; i++) {
+                value(Array.get(value, i));
+            }
+            endArray();
+        } else if (value instanceof Collection) {
+            Collection<?> collection = (Collection<?>) value;
+            beginArray(collection.size());
+            for (Object element : collection) {
+                value(element);
+            }
+            endArray();
+        } else if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            beginArray(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                beginArray(2);
+                value(entry.getKey());
+                value(entry.getValue());
+                endArray();
+            }
+            endArray();
+        } else if (value instanceof Optional) {
+            value(((Optional<?>) value).orElse(null));
+        } else {
+            stringValue(value.toString());
+        }
+    }
+}
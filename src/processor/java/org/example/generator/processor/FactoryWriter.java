@@ -0,0 +1,186 @@
+package org.example.generator.processor;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+final class FactoryWriter {
+    static final String FACTORY_INTERFACE = "org.example.generator.GeneratedFactory";
+    static final String VALUE_SOURCE_INTERFACE = "org.example.generator.ValueSource";
+
+    private final ProcessingEnvironment processingEnv;
+
+    FactoryWriter(ProcessingEnvironment processingEnv) {
+        this.processingEnv = processingEnv;
+    }
+
+    // Returns the qualified name of the written factory, or null when the type has to stay reflective
+    String write(TypeElement type) throws IOException {
+        ExecutableElement constructor = selectConstructor(type);
+        if (constructor == null || !isAccessible(type)) {
+            return null;
+        }
+
+        String packageName = packageOf(type).getQualifiedName().toString();
+        String factoryName = factorySimpleName(type);
+        String qualifiedName = packageName.isEmpty() ? factoryName : packageName + '.' + factoryName;
+        String typeName = type.getQualifiedName().toString();
+
+        JavaFileObject source = processingEnv.getFiler().createSourceFile(qualifiedName, type);
+        try (Writer writer = source.openWriter()) {
+            if (!packageName.isEmpty()) {
+                writer.write("package " + packageName + ";\n\n");
+            }
+            writer.write("@javax.annotation.processing.Generated(\"" + GeneratableProcessor.class.getName() + "\")\n");
+            writer.write("public final class " + factoryName + " implements " + FACTORY_INTERFACE + "<" + typeName + "> {\n");
+            writer.write("    @Override\n");
+            writer.write("    public Class<" + typeName + "> type() {\n");
+            writer.write("        return " + typeName + ".class;\n");
+            writer.write("    }\n\n");
+            writer.write("    @Override\n");
+            writer.write("    public java.util.List<Class<?>> parameterTypes() {\n");
+            writer.write("        return java.util.List.of(" + parameterTypes(constructor) + ");\n");
+            writer.write("    }\n\n");
+            writer.write("    @Override\n");
+            writer.write("    @SuppressWarnings(\"unchecked\")\n");
+            writer.write("    public " + typeName + " create(" + VALUE_SOURCE_INTERFACE + " source) throws ReflectiveOperationException {\n");
+            writer.write("        return new " + typeName + "(" + arguments(constructor) + ");\n");
+            writer.write("    }\n");
+            writer.write("}\n");
+        }
+        return qualifiedName;
+    }
+
+    // Mirrors the runtime choice of the constructor with the most parameters; it must be callable from the package
+    private ExecutableElement selectConstructor(TypeElement type) {
+        if (type.getModifiers().contains(Modifier.ABSTRACT) || !type.getTypeParameters().isEmpty()) {
+            return null;
+        }
+
+        ExecutableElement selected = null;
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (selected == null || constructor.getParameters().size() > selected.getParameters().size()) {
+                selected = constructor;
+            }
+        }
+
+        if (selected == null || selected.getModifiers().contains(Modifier.PRIVATE)
+                || !selected.getTypeParameters().isEmpty() || throwsCheckedExceptions(selected)) {
+            return null;
+        }
+        return selected;
+    }
+
+    private boolean throwsCheckedExceptions(ExecutableElement constructor) {
+        Types types = processingEnv.getTypeUtils();
+        TypeMirror runtimeException = typeOf(RuntimeException.class);
+        TypeMirror error = typeOf(Error.class);
+        TypeMirror reflective = typeOf(ReflectiveOperationException.class);
+        for (TypeMirror thrown : constructor.getThrownTypes()) {
+            if (!types.isSubtype(thrown, runtimeException) && !types.isSubtype(thrown, error)
+                    && !types.isSubtype(thrown, reflective)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private TypeMirror typeOf(Class<?> type) {
+        return processingEnv.getElementUtils().getTypeElement(type.getCanonicalName()).asType();
+    }
+
+    // Private or inner (non-static) classes cannot be constructed from a separate top-level factory
+    private static boolean isAccessible(TypeElement type) {
+        for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            TypeElement current = (TypeElement) element;
+            if (current.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            if (current.getNestingKind() == NestingKind.MEMBER && current.getKind() == ElementKind.CLASS
+                    && !current.getModifiers().contains(Modifier.STATIC)) {
+                return false;
+            }
+            if (current.getNestingKind() == NestingKind.LOCAL || current.getNestingKind() == NestingKind.ANONYMOUS) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String parameterTypes(ExecutableElement constructor) {
+        Types types = processingEnv.getTypeUtils();
+        StringBuilder builder = new StringBuilder();
+        for (VariableElement parameter : constructor.getParameters()) {
+            if (builder.length() > 0) {
+                builder.append(", ");
+            }
+            builder.append(types.erasure(parameter.asType())).append(".class");
+        }
+        return builder.toString();
+    }
+
+    private static String arguments(ExecutableElement constructor) {
+        List<? extends VariableElement> parameters = constructor.getParameters();
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < parameters.size(); i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(argument(parameters.get(i).asType(), i));
+        }
+        return builder.toString();
+    }
+
+    private static String argument(TypeMirror type, int index) {
+        TypeKind kind = type.getKind();
+        switch (kind) {
+            case INT:
+                return "source.nextInt(" + index + ")";
+            case LONG:
+                return "source.nextLong(" + index + ")";
+            case DOUBLE:
+                return "source.nextDouble(" + index + ")";
+            case FLOAT:
+                return "source.nextFloat(" + index + ")";
+            case BOOLEAN:
+                return "source.nextBoolean(" + index + ")";
+            case BYTE:
+                return "source.nextByte(" + index + ")";
+            case SHORT:
+                return "source.nextShort(" + index + ")";
+            case CHAR:
+                return "source.nextChar(" + index + ")";
+            default:
+                return "(" + type + ") source.nextObject(" + index + ")";
+        }
+    }
+
+    private static String factorySimpleName(TypeElement type) {
+        StringBuilder name = new StringBuilder(type.getSimpleName());
+        for (Element enclosing = type.getEnclosingElement(); enclosing instanceof TypeElement; enclosing = enclosing.getEnclosingElement()) {
+            name.insert(0, ((TypeElement) enclosing).getSimpleName() + "_");
+        }
+        return name.append("Generator").toString();
+    }
+
+    private static PackageElement packageOf(Element element) {
+        while (!(element instanceof PackageElement)) {
+            element = element.getEnclosingElement();
+        }
+        return (PackageElement) element;
+    }
+}
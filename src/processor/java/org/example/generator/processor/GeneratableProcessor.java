@@ -0,0 +1,115 @@
+package org.example.generator.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+@SupportedAnnotationTypes(GeneratableProcessor.GENERATABLE_ANNOTATION)
+public class GeneratableProcessor extends AbstractProcessor {
+    static final String GENERATABLE_ANNOTATION = "org.example.generator.Generatable";
+    static final String IMPLEMENTATIONS_RESOURCE = "META-INF/generatable/implementations";
+    static final String FACTORIES_RESOURCE = "META-INF/services/" + FactoryWriter.FACTORY_INTERFACE;
+
+    private final Map<String, Set<String>> implementations = new TreeMap<>();
+    private final Set<String> factories = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.CLASS || element.getKind() == ElementKind.RECORD) {
+                    indexImplementation((TypeElement) element);
+                    writeFactory((TypeElement) element);
+                }
+            }
+        }
+
+        if (roundEnv.processingOver() && !implementations.isEmpty()) {
+            writeImplementations();
+        }
+        if (roundEnv.processingOver() && !factories.isEmpty()) {
+            writeFactories();
+        }
+
+        return false;
+    }
+
+    private void indexImplementation(TypeElement type) {
+        String implementationName = binaryName(type);
+        for (TypeMirror interfaceType : type.getInterfaces()) {
+            Element interfaceElement = processingEnv.getTypeUtils().asElement(interfaceType);
+            if (interfaceElement instanceof TypeElement) {
+                implementations.computeIfAbsent(binaryName((TypeElement) interfaceElement), k -> new TreeSet<>())
+                        .add(implementationName);
+            }
+        }
+    }
+
+    private void writeFactory(TypeElement type) {
+        try {
+            String factory = new FactoryWriter(processingEnv).write(type);
+            if (factory != null) {
+                factories.add(factory);
+            }
+        } catch (IOException e) {
+            // The type stays reflective, e.g. when a class with the factory's name already exists
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Skipping generated factory: " + e.getMessage(), type);
+        }
+    }
+
+    private String binaryName(TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    private void writeImplementations() {
+        try {
+            FileObject resource = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", IMPLEMENTATIONS_RESOURCE);
+            try (Writer writer = resource.openWriter()) {
+                for (Map.Entry<String, Set<String>> entry : implementations.entrySet()) {
+                    for (String implementation : entry.getValue()) {
+                        writer.write(entry.getKey() + '=' + implementation + '\n');
+                    }
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Failed to write " + IMPLEMENTATIONS_RESOURCE + ": " + e.getMessage());
+        }
+    }
+
+    private void writeFactories() {
+        try {
+            FileObject resource = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", FACTORIES_RESOURCE);
+            try (Writer writer = resource.openWriter()) {
+                for (String factory : factories) {
+                    writer.write(factory + '\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Failed to write " + FACTORIES_RESOURCE + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.generator;
+
+import org.example.classes.Rectangle;
+import org.example.classes.Shape;
+import org.example.classes.Triangle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClasspathScannerTest {
+
+    @TempDir
+    Path cacheDirectory;
+
+    @TempDir
+    Path workDirectory;
+
+    @Test
+    void testScanFindsShapeImplementations() {
+        ClasspathScanner scanner = new ClasspathScanner(List.of("org.example.classes"), null, getClass().getClassLoader());
+
+        Map<Class<?>, List<Class<?>>> index = scanner.scan();
+
+        assertEquals(List.of(Rectangle.class, Triangle.class), index.get(Shape.class),
+                "Scan should find every @Generatable Shape implementation");
+    }
+
+    @Test
+    void testScanOfUnknownPackageIsEmpty() {
+        ClasspathScanner scanner = new ClasspathScanner(List.of("org.example.missing"), null, getClass().getClassLoader());
+
+        assertTrue(scanner.scan().isEmpty(), "Scanning a package that does not exist should find nothing");
+    }
+
+    @Test
+    void testScanResultIsPersistedAndReused() throws Exception {
+        ClasspathScanner scanner = new ClasspathScanner(List.of("org.example.classes"), cacheDirectory, getClass().getClassLoader());
+
+        assertEquals(List.of(Rectangle.class, Triangle.class), scanner.scan().get(Shape.class));
+
+        List<Path> cacheFiles;
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            cacheFiles = files.toList();
+        }
+        assertEquals(1, cacheFiles.size(), "Scan should persist exactly one cache file");
+
+        // Only a scan served from the cache can see an index the class path does not match
+        try (Writer writer = Files.newBufferedWriter(cacheFiles.get(0), StandardCharsets.UTF_8)) {
+            GeneratableIndex.write(Map.of(Shape.class, List.of(Rectangle.class)), writer);
+        }
+        Map<Class<?>, List<Class<?>>> cached = new ClasspathScanner(List.of("org.example.classes"), cacheDirectory,
+                getClass().getClassLoader()).scan();
+        assertEquals(List.of(Rectangle.class), cached.get(Shape.class), "A second scan should be served from the cache file");
+    }
+
+    @Test
+    void testFailedCacheWriteLeavesNoTemporaryFile() throws Exception {
+        ClasspathScanner scanner = new ClasspathScanner(List.of("org.example.classes"), cacheDirectory, getClass().getClassLoader());
+        scanner.scan();
+        Path cacheFile;
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            cacheFile = files.findFirst().orElseThrow();
+        }
+
+        // A non-empty directory in the cache file's place makes the final move fail
+        Files.delete(cacheFile);
+        Files.createDirectories(cacheFile.resolve("occupied"));
+        assertEquals(List.of(Rectangle.class, Triangle.class), scanner.scan().get(Shape.class));
+
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            assertEquals(List.of(cacheFile), files.toList(), "The temporary file should be removed when the move fails");
+        }
+    }
+
+    @Test
+    void testScanFindsClassesInJarsWithoutDirectoryEntries() throws Exception {
+        Path sources = Files.createDirectories(workDirectory.resolve("src/jarred"));
+        Files.writeString(sources.resolve("Dial.java"), "package jarred; public interface Dial { }");
+        Files.writeString(sources.resolve("Knob.java"),
+                "package jarred; @org.example.generator.Generatable public class Knob implements Dial { }");
+        Path classes = Files.createDirectories(workDirectory.resolve("classes"));
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertEquals(0, compiler.run(null, null, null, "-proc:none", "-d", classes.toString(),
+                "-classpath", System.getProperty("java.class.path"),
+                sources.resolve("Dial.java").toString(), sources.resolve("Knob.java").toString()));
+
+        Path jar = workDirectory.resolve("knobs.jar");
+        try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(jar))) {
+            for (String entry : List.of("jarred/Dial.class", "jarred/Knob.class")) {
+                output.putNextEntry(new JarEntry(entry));
+                output.write(Files.readAllBytes(classes.resolve(entry)));
+                output.closeEntry();
+            }
+        }
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{jar.toUri().toURL()}, getClass().getClassLoader())) {
+            assertNull(loader.getResource("jarred"), "The jar should have no entry for its package directory");
+
+            Map<Class<?>, List<Class<?>>> index = new ClasspathScanner(List.of("jarred"), null, loader).scan();
+            Class<?> dial = loader.loadClass("jarred.Dial");
+            assertEquals(List.of(loader.loadClass("jarred.Knob")), index.get(dial));
+        }
+    }
+}
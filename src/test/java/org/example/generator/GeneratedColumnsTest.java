@@ -0,0 +1,67 @@
+package org.example.generator;
+
+import org.example.classes.Cart;
+import org.example.classes.Product;
+import org.example.classes.Triangle;
+import org.junit.jupiter.api.Test;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeneratedColumnsTest {
+    @Test
+    void testColumnsHoldTheValuesGenerateWouldUse() {
+        GeneratedColumns columns = Generator.builder().seed(23).build().columns(Product.class, 1000);
+        List<Product> expected = Generator.builder().seed(23).build().generate(Product.class, 1000);
+
+        assertEquals(1000, columns.rows());
+        assertEquals(List.of("name", "price"), columns.names());
+        DoubleBuffer prices = columns.doubles("price");
+        assertEquals(1000, prices.remaining());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getName(), columns.string("name", i), "Row " + i + " name");
+            assertEquals(expected.get(i).getPrice(), prices.get(i), "Row " + i + " price");
+        }
+    }
+
+    @Test
+    void testStringColumnsAreOffsetsIntoBytes() {
+        GeneratedColumns columns = Generator.builder().stringLength(random -> 3).build().columns(Product.class, 100);
+
+        IntBuffer offsets = columns.stringOffsets("name");
+        assertEquals(101, offsets.remaining());
+        assertEquals(0, offsets.get(0));
+        assertEquals(300, offsets.get(100), "Unbounded length distributions are fine without fixed slots");
+        assertEquals(300, columns.stringBytes("name").remaining());
+        assertTrue(columns.doubles("price").isReadOnly());
+    }
+
+    @Test
+    void testTriangleColumnsAreIndependentDoubles() {
+        GeneratedColumns columns = Generator.builder().seed(29).build().columns(Triangle.class, 500);
+        List<Triangle> expected = Generator.builder().seed(29).build().generate(Triangle.class, 500);
+
+        DoubleBuffer a = columns.doubles("sideA");
+        DoubleBuffer b = columns.doubles("sideB");
+        DoubleBuffer c = columns.doubles("sideC");
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getPerimeter(), a.get(i) + b.get(i) + c.get(i), 1e-9);
+        }
+    }
+
+    @Test
+    void testColumnAccessIsTypeChecked() {
+        GeneratedColumns columns = new Generator().columns(Product.class, 10);
+
+        assertThrows(IllegalArgumentException.class, () -> columns.ints("price"));
+        assertThrows(IllegalArgumentException.class, () -> columns.doubles("name"));
+        assertThrows(IllegalArgumentException.class, () -> columns.string("price", 0));
+        assertThrows(IllegalArgumentException.class, () -> columns.doubles("weight"));
+        assertThrows(IndexOutOfBoundsException.class, () -> columns.string("name", 10));
+        assertThrows(IllegalArgumentException.class, () -> new Generator().columns(Cart.class, 10),
+                "Collections have no column encoding");
+    }
+}
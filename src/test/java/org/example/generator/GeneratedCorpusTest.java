@@ -0,0 +1,64 @@
+package org.example.generator;
+
+import org.example.classes.Cart;
+import org.example.classes.Product;
+import org.example.classes.Rectangle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeneratedCorpusTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testCorpusMaterializesTheSameObjectsAsGenerate() throws Exception {
+        Path file = tempDir.resolve("products.corpus");
+        GeneratedCorpus<Product> corpus = Generator.builder().seed(17).build().corpus(Product.class, 500, file);
+        List<Product> expected = Generator.builder().seed(17).build().generate(Product.class, 500);
+
+        assertEquals(500, corpus.size());
+        for (int i = expected.size() - 1; i >= 0; i -= 7) {
+            assertEquals(expected.get(i).getName(), corpus.get(i).getName(), "Object #" + i + " should match the generated one");
+            assertEquals(expected.get(i).getPrice(), corpus.get(i).getPrice(), "Object #" + i + " should match the generated one");
+        }
+        assertEquals(expected.stream().map(Product::getName).collect(Collectors.toList()),
+                corpus.stream().map(Product::getName).collect(Collectors.toList()));
+        assertNotSame(corpus.get(3), corpus.get(3), "Objects are materialized on every access");
+        assertThrows(IndexOutOfBoundsException.class, () -> corpus.get(500));
+    }
+
+    @Test
+    void testReopenedCorpusReadsStoredRecords() throws Exception {
+        Path file = tempDir.resolve("rectangles.corpus");
+        GeneratedCorpus<Rectangle> written = new Generator().corpus(Rectangle.class, 1000, file);
+        double area = written.get(999).getArea();
+
+        GeneratedCorpus<Rectangle> reopened = new Generator().openCorpus(Rectangle.class, file);
+        assertEquals(1000, reopened.size());
+        assertEquals(area, reopened.get(999).getArea());
+        assertTrue(Files.size(file) >= 1000 * 2 * Double.BYTES);
+    }
+
+    @Test
+    void testCorpusRejectsLayoutsWithoutFixedWidth() throws Exception {
+        Path file = tempDir.resolve("products.corpus");
+        Generator.builder().stringLength(SizeDistribution.uniform(1, 8)).build().corpus(Product.class, 10, file);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> Generator.builder().stringLength(SizeDistribution.uniform(1, 9)).build().openCorpus(Product.class, file),
+                "A wider string slot is a different layout");
+        assertThrows(IllegalArgumentException.class,
+                () -> Generator.builder().stringLength(random -> 4).build().corpus(Product.class, 10, tempDir.resolve("unbounded")),
+                "Custom distributions have no known maximum");
+        assertThrows(IllegalArgumentException.class,
+                () -> new Generator().corpus(Cart.class, 10, tempDir.resolve("carts")),
+                "Collections have no fixed-width encoding");
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.generator;
+
+import org.example.classes.Product;
+import org.example.classes.Rectangle;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenerationServiceTest {
+    @Test
+    void testTakeServesMoreObjectsThanTheBufferHolds() throws Exception {
+        try (GenerationService service = GenerationService.builder(new Generator()).capacity(8).threads(2).build()) {
+            service.prefetch(Product.class, Rectangle.class);
+            for (int i = 0; i < 1000; i++) {
+                assertNotNull(service.take(Product.class).getName());
+                assertTrue(service.take(Rectangle.class).getArea() >= 0);
+            }
+        }
+    }
+
+    @Test
+    void testPublisherDeliversOnlyWhatWasRequested() throws Exception {
+        try (GenerationService service = GenerationService.builder(new Generator()).capacity(4).threads(1).build()) {
+            RecordingSubscriber<Product> subscriber = new RecordingSubscriber<>(7);
+            service.publisher(Product.class).subscribe(subscriber);
+
+            subscriber.request(5);
+            assertTrue(subscriber.received.await(5, TimeUnit.SECONDS));
+            Thread.sleep(100);
+            assertEquals(5, subscriber.items.size(), "No items beyond the requested demand");
+
+            subscriber.request(2);
+            subscriber.awaitItems(7);
+            assertEquals(7, subscriber.items.size());
+
+            service.close();
+            subscriber.request(1);
+            assertTrue(subscriber.terminated.await(5, TimeUnit.SECONDS), "Closing completes open subscriptions");
+            assertNull(subscriber.error.get());
+            assertThrows(IllegalStateException.class, () -> service.take(Product.class));
+        }
+    }
+
+    @Test
+    void testGenerationFailuresReachConsumers() throws Exception {
+        try (GenerationService service = GenerationService.builder(new Generator()).build()) {
+            assertThrows(GenerationException.class, () -> service.take(Faulty.class));
+
+            RecordingSubscriber<Faulty> subscriber = new RecordingSubscriber<>(1);
+            service.publisher(Faulty.class).subscribe(subscriber);
+            subscriber.request(1);
+            assertTrue(subscriber.terminated.await(5, TimeUnit.SECONDS));
+            assertInstanceOf(GenerationException.class, subscriber.error.get());
+        }
+    }
+
+    @Generatable
+    static class Faulty {
+        Faulty(int value) {
+            throw new IllegalStateException("Cannot build " + value);
+        }
+    }
+
+    private static final class RecordingSubscriber<T> implements Flow.Subscriber<T> {
+        private final List<T> items = new CopyOnWriteArrayList<>();
+        private final CountDownLatch received = new CountDownLatch(5);
+        private final CountDownLatch all;
+        private final CountDownLatch terminated = new CountDownLatch(1);
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private volatile Flow.Subscription subscription;
+
+        RecordingSubscriber(int expected) {
+            this.all = new CountDownLatch(expected);
+        }
+
+        void request(long n) {
+            subscription.request(n);
+        }
+
+        void awaitItems(int count) throws InterruptedException {
+            assertTrue(all.await(5, TimeUnit.SECONDS), "Expected " + count + " items, got " + items.size());
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+            received.countDown();
+            all.countDown();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error.set(throwable);
+            terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            terminated.countDown();
+        }
+    }
+}
@@ -3,10 +3,30 @@ package org.example.generator;
 import org.example.classes.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.SortedSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -367,4 +387,742 @@ class GeneratorTest {
             }, "Iteration " + i + " should handle circular references");
         }
     }
+
+    @ParameterizedTest
+    @EnumSource(InvocationBackend.class)
+    void testEveryBackendGeneratesAllExampleClasses(InvocationBackend backend) throws Exception {
+        Generator backendGenerator = Generator.builder()
+                .invocationBackend(backend)
+                .build();
+
+        Product product = (Product) backendGenerator.generateValueOfType(Product.class);
+        assertNotNull(product.getName(), "Product name should not be null");
+        assertNotEquals(Double.MIN_VALUE, product.getPrice(),
+                backend + " backend should also use the 2-parameter constructor");
+
+        assertNotNull(backendGenerator.generateValueOfType(Rectangle.class), "Rectangle should generate");
+        assertNotNull(backendGenerator.generateValueOfType(Triangle.class), "Triangle should generate");
+        assertNotNull(backendGenerator.generateValueOfType(Shape.class), "Shape interface should generate");
+        assertNotNull(backendGenerator.generateValueOfType(Example.class), "Example should generate");
+        assertNotNull(backendGenerator.generateValueOfType(Cart.class), "Cart should generate");
+        assertNotNull(backendGenerator.generateValueOfType(BinaryTreeNode.class), "BinaryTreeNode should generate");
+
+        Person person = (Person) backendGenerator.generateValueOfType(Person.class);
+        assertNotNull(person.getAddress(), "Person address should be generated");
+        assertNull(person.getAddress().getOwner(), "Cycle should still be broken with the " + backend + " backend");
+    }
+
+    @Test
+    void testSharedGeneratorAcrossThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                tasks.add(() -> {
+                    int generated = 0;
+                    for (int i = 0; i < 200; i++) {
+                        assertNotNull(generator.generateValueOfType(Shape.class), "Shape should generate concurrently");
+                        assertNotNull(generator.generateValueOfType(Cart.class), "Cart should generate concurrently");
+                        generated += 2;
+                    }
+                    return generated;
+                });
+            }
+
+            for (Future<Integer> result : executor.invokeAll(tasks)) {
+                assertEquals(400, result.get(), "Each thread should generate all of its objects");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testGenerateMany() {
+        List<Cart> carts = generator.generate(Cart.class, 100);
+
+        assertEquals(100, carts.size(), "Should generate the requested number of carts");
+        for (Cart cart : carts) {
+            assertNotNull(cart, "Each generated Cart should not be null");
+            assertNotNull(cart.getItems(), "Cart items list should not be null");
+        }
+    }
+
+    @Test
+    void testGenerateParallel() {
+        List<Product> products = generator.generateParallel(Product.class, 1000);
+
+        assertEquals(1000, products.size(), "Should generate the requested number of products");
+        for (Product product : products) {
+            assertNotNull(product.getName(), "Product name should not be null");
+        }
+    }
+
+    @Test
+    void testNegativeCountsAreRejected() {
+        for (Runnable call : List.<Runnable>of(
+                () -> generator.generate(Product.class, -1),
+                () -> generator.generateParallel(Product.class, -1),
+                () -> generator.stream(Product.class, -1))) {
+            IllegalArgumentException error = assertThrows(IllegalArgumentException.class, call::run);
+            assertEquals("count must be >= 0: -1", error.getMessage());
+        }
+    }
+
+    @Test
+    void testParallelStream() {
+        long shapes = generator.stream(Shape.class)
+                .parallel()
+                .limit(500)
+                .filter(shape -> shape instanceof Triangle || shape instanceof Rectangle)
+                .count();
+
+        assertEquals(500, shapes, "Every streamed Shape should be a Triangle or Rectangle");
+    }
+
+    @Test
+    void testSeededGenerationIsReproducible() throws Exception {
+        Generator first = Generator.builder().seed(42).build();
+        Generator second = Generator.builder().seed(42).build();
+
+        for (int i = 0; i < 10; i++) {
+            Product expected = (Product) first.generateValueOfType(Product.class);
+            Product actual = (Product) second.generateValueOfType(Product.class);
+            assertEquals(expected.getName(), actual.getName(), "Same seed should produce the same name");
+            assertEquals(expected.getPrice(), actual.getPrice(), "Same seed should produce the same price");
+        }
+    }
+
+    @Test
+    void testSeededParallelGenerationMatchesSequential() {
+        List<Cart> sequential = Generator.builder().seed(7).build().generate(Cart.class, 500);
+        List<Cart> parallel = Generator.builder().seed(7).build().generateParallel(Cart.class, 500);
+
+        for (int i = 0; i < sequential.size(); i++) {
+            List<Product> expected = sequential.get(i).getItems();
+            List<Product> actual = parallel.get(i).getItems();
+            assertEquals(expected.size(), actual.size(), "Cart #" + i + " should have the same number of items");
+            for (int j = 0; j < expected.size(); j++) {
+                assertEquals(expected.get(j).getName(), actual.get(j).getName(),
+                        "Cart #" + i + " item #" + j + " should be identical regardless of threading");
+                assertEquals(expected.get(j).getPrice(), actual.get(j).getPrice(),
+                        "Cart #" + i + " item #" + j + " should be identical regardless of threading");
+            }
+        }
+    }
+
+    @Test
+    void testCompileTimeImplementationIndex() {
+        Map<Class<?>, List<Class<?>>> index = GeneratableIndex.load(getClass().getClassLoader());
+
+        assertNotNull(index, "Annotation processor should emit " + GeneratableIndex.IMPLEMENTATIONS_RESOURCE);
+        assertEquals(List.of(Rectangle.class, Triangle.class), index.get(Shape.class),
+                "Index should list every @Generatable Shape implementation");
+    }
+
+    @Test
+    void testProcessorGeneratesFactoriesForGeneratableClasses() throws Exception {
+        Map<Class<?>, GeneratedFactory<?>> factories = GeneratedFactories.load(getClass().getClassLoader());
+        assertEquals("org.example.classes.ProductGenerator", factories.get(Product.class).getClass().getName());
+        assertEquals("org.example.generator.GeneratorTest_ChainGenerator", factories.get(Chain.class).getClass().getName());
+        assertEquals(List.of(String.class, double.class), factories.get(Product.class).parameterTypes());
+
+        Generator withFactories = Generator.builder().seed(7).build();
+        Generator withoutFactories = Generator.builder().seed(7).generatedFactories(false).build();
+        for (int i = 0; i < 20; i++) {
+            Product generated = (Product) withFactories.generateValueOfType(Product.class);
+            Product reflective = (Product) withoutFactories.generateValueOfType(Product.class);
+            assertEquals(reflective.getName(), generated.getName(), "Generated factories should draw the same values");
+            assertEquals(reflective.getPrice(), generated.getPrice());
+        }
+    }
+
+    @Generatable
+    static class Probe {
+        final boolean viaFactory;
+
+        Probe(int value) {
+            viaFactory = StackWalker.getInstance().walk(frames -> frames.anyMatch(
+                    frame -> frame.getClassName().equals(GeneratorTest.class.getName() + "_ProbeGenerator")));
+        }
+    }
+
+    @Test
+    void testExplicitBackendReplacesGeneratedFactories() throws Exception {
+        assertTrue(((Probe) generator.generateValueOfType(Probe.class)).viaFactory,
+                "Generated factories are used by default");
+        assertFalse(((Probe) Generator.builder().invocationBackend(InvocationBackend.METHOD_HANDLE).build()
+                .generateValueOfType(Probe.class)).viaFactory, "A chosen backend should construct the instance itself");
+        assertTrue(((Probe) Generator.builder().generatedFactories(true).invocationBackend(InvocationBackend.METHOD_HANDLE).build()
+                .generateValueOfType(Probe.class)).viaFactory, "Factories asked for explicitly stay on with any backend");
+    }
+
+    @Test
+    void testGeneratePrimitiveArrays() throws Exception {
+        int[] ints = (int[]) generator.generateValueOfType(int[].class);
+        assertNotNull(ints, "int[] should be generated");
+        assertTrue(ints.length <= 5, "Default array length should be between 0 and 5");
+        for (int value : ints) {
+            assertTrue(value >= 0 && value < 1000, "Array elements should use the int range [0, 1000)");
+        }
+
+        assertNotNull(generator.generateValueOfType(double[].class), "double[] should be generated");
+        assertNotNull(generator.generateValueOfType(byte[].class), "byte[] should be generated");
+        assertNotNull(generator.generateValueOfType(char[].class), "char[] should be generated");
+    }
+
+    @Test
+    void testGenerateObjectAndNestedArrays() throws Exception {
+        Product[] products = (Product[]) generator.generateValueOfType(Product[].class);
+        assertNotNull(products, "Product[] should be generated");
+        for (Product product : products) {
+            assertNotNull(product, "Each Product in the array should be generated");
+        }
+
+        int[][] matrix = (int[][]) generator.generateValueOfType(int[][].class);
+        assertNotNull(matrix, "int[][] should be generated");
+        for (int[] row : matrix) {
+            assertNotNull(row, "Each row of int[][] should be generated");
+        }
+    }
+
+    @Test
+    void testConfiguredArrayLength() throws Exception {
+        Generator largeArrays = Generator.builder()
+                .arrayLength(SizeDistribution.fixed(50_000))
+                .build();
+
+        double[] payload = (double[]) largeArrays.generateValueOfType(double[].class);
+        assertEquals(50_000, payload.length, "Array length should follow the configured distribution");
+    }
+
+    @Generatable
+    static class Inventory {
+        final Set<String> tags;
+        final Map<String, Integer> stock;
+        final Queue<Integer> pending;
+        final Optional<Product> featured;
+        final List<List<Product>> shelves;
+        final List<? extends Shape> displays;
+
+        Inventory(Set<String> tags, Map<String, Integer> stock, Queue<Integer> pending, Optional<Product> featured,
+                  List<List<Product>> shelves, List<? extends Shape> displays) {
+            this.tags = tags;
+            this.stock = stock;
+            this.pending = pending;
+            this.featured = featured;
+            this.shelves = shelves;
+            this.displays = displays;
+        }
+    }
+
+    @Test
+    void testGenerateGenericCollections() throws Exception {
+        Inventory inventory = (Inventory) generator.generateValueOfType(Inventory.class);
+
+        assertNotNull(inventory, "Inventory should be generated");
+        assertNotNull(inventory.tags, "Set parameter should be generated");
+        assertNotNull(inventory.stock, "Map parameter should be generated");
+        assertNotNull(inventory.pending, "Queue parameter should be generated");
+        assertTrue(inventory.featured.isPresent(), "Optional<Product> should contain a Product");
+        for (List<Product> shelf : inventory.shelves) {
+            for (Product product : shelf) {
+                assertNotNull(product.getName(), "Nested List<List<Product>> elements should be Products");
+            }
+        }
+        for (Shape display : inventory.displays) {
+            assertTrue(display instanceof Triangle || display instanceof Rectangle,
+                    "Wildcard List<? extends Shape> should contain Shape implementations");
+        }
+    }
+
+    @Generatable
+    static class Catalog {
+        final SortedSet<String> labels;
+        final NavigableMap<Integer, Product> byCode;
+
+        Catalog(SortedSet<String> labels, NavigableMap<Integer, Product> byCode) {
+            this.labels = labels;
+            this.byCode = byCode;
+        }
+    }
+
+    @Generatable
+    static class ProductRanking {
+        final SortedSet<Product> ranked;
+
+        ProductRanking(SortedSet<Product> ranked) {
+            this.ranked = ranked;
+        }
+    }
+
+    @Test
+    void testSortedCollectionsNeedComparableElements() throws Exception {
+        Generator sorted = Generator.builder().collectionSize(SizeDistribution.fixed(3)).build();
+
+        Catalog catalog = (Catalog) sorted.generateValueOfType(Catalog.class);
+        assertFalse(catalog.labels.isEmpty(), "Comparable elements should fill a sorted set");
+        assertFalse(catalog.byCode.isEmpty(), "Comparable keys should fill a sorted map");
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> sorted.generateValueOfType(ProductRanking.class),
+                "Non-Comparable elements should be rejected when the plan is compiled");
+        assertTrue(error.getMessage().contains(Product.class.getName()), error.getMessage());
+    }
+
+    @Generatable
+    static class Boxed<T extends Comparable<T>> {
+        final T value;
+        final List<T> history;
+
+        Boxed(T value, List<T> history) {
+            this.value = value;
+            this.history = history;
+        }
+    }
+
+    @Test
+    void testSelfReferentialBoundsResolveToTheirErasure() throws Exception {
+        Boxed<?> boxed = (Boxed<?>) generator.generateValueOfType(Boxed.class);
+        assertNotNull(boxed, "A recursive bound should not stop the plan from compiling");
+        assertNull(boxed.value, "Comparable has no @Generatable implementation to fill the value with");
+        assertNotNull(boxed.history);
+    }
+
+    @Test
+    void testConfiguredCollectionSize() throws Exception {
+        Generator largeCollections = Generator.builder()
+                .collectionSize(SizeDistribution.fixed(10_000))
+                .build();
+
+        Cart cart = (Cart) largeCollections.generateValueOfType(Cart.class);
+        assertEquals(10_000, cart.getItems().size(), "Cart should contain the configured number of products");
+    }
+
+    @Test
+    void testConfiguredStringLengthAndRanges() throws Exception {
+        Generator configured = Generator.builder()
+                .stringLength(SizeDistribution.fixed(1 << 20))
+                .intRange(-10, 10)
+                .doubleRange(5, 6)
+                .build();
+
+        String payload = (String) configured.generateValueOfType(String.class);
+        assertEquals(1 << 20, payload.length(), "String length should follow the configured distribution");
+
+        for (int i = 0; i < 100; i++) {
+            int value = (Integer) configured.generateValueOfType(int.class);
+            assertTrue(value >= -10 && value < 10, "int should be in the configured range [-10, 10)");
+            double price = ((Product) configured.generateValueOfType(Product.class)).getPrice();
+            assertTrue(price >= 5 && price < 6, "double should be in the configured range [5, 6)");
+        }
+    }
+
+    @Test
+    void testPerParameterSizeOverride() throws Exception {
+        Generator configured = Generator.builder()
+                .size(Cart.class, "items", SizeDistribution.fixed(42))
+                .size(Product.class, "name", SizeDistribution.fixed(3))
+                .build();
+
+        Cart cart = (Cart) configured.generateValueOfType(Cart.class);
+        assertEquals(42, cart.getItems().size(), "Cart.items should use its parameter-specific size");
+        for (Product product : cart.getItems()) {
+            assertEquals(3, product.getName().length(), "Product.name should use its parameter-specific length");
+        }
+
+        String unrelated = (String) configured.generateValueOfType(String.class);
+        assertTrue(unrelated.length() >= 5 && unrelated.length() <= 14,
+                "Parameter overrides should not change the default string length");
+    }
+
+    @Test
+    void testOverridesMustNameAParameterOrMember() throws Exception {
+        Generator misspelled = Generator.builder().size(Product.class, "nmae", SizeDistribution.fixed(50)).build();
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> misspelled.generateValueOfType(Product.class));
+        assertTrue(error.getMessage().contains("nmae"), error.getMessage());
+
+        Generator pooledMember = Generator.builder()
+                .populationStrategy(PopulationStrategy.FIELDS)
+                .stringPool(Settings.class, "label", 1)
+                .build();
+        assertNotNull(pooledMember.generateValueOfType(Settings.class), "Populated members can be overridden by name");
+    }
+
+    @Test
+    void testOverridesNeedParameterNames(@TempDir Path directory) throws Exception {
+        Path source = Files.createDirectories(directory.resolve("unnamed")).resolve("Ticket.java");
+        Files.writeString(source, "package unnamed; @org.example.generator.Generatable public class Ticket {"
+                + " public String code; public Ticket(String code) { this.code = code; } }");
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertEquals(0, compiler.run(null, null, null, "-proc:none", "-d", directory.toString(),
+                "-classpath", System.getProperty("java.class.path"), source.toString()));
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{directory.toUri().toURL()}, getClass().getClassLoader())) {
+            Class<?> ticket = loader.loadClass("unnamed.Ticket");
+            assertNotNull(new Generator().generateValueOfType(ticket), "Without overrides the names are not needed");
+
+            Generator sized = Generator.builder().size(ticket, "code", SizeDistribution.fixed(3)).build();
+            IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> sized.generateValueOfType(ticket));
+            assertTrue(error.getMessage().contains("-parameters"), error.getMessage());
+            error = assertThrows(IllegalArgumentException.class, () -> new Generator().pool(ticket, 1));
+            assertTrue(error.getMessage().contains("-parameters"), error.getMessage());
+        }
+    }
+
+    @Test
+    void testZipfSizeDistribution() {
+        SizeDistribution zipf = SizeDistribution.zipf(0, 100, 1.5);
+        java.util.SplittableRandom random = new java.util.SplittableRandom(1);
+
+        int zeros = 0;
+        for (int i = 0; i < 10_000; i++) {
+            int size = zipf.sample(random);
+            assertTrue(size >= 0 && size <= 100, "Zipf sizes should stay within [0, 100]");
+            if (size == 0) {
+                zeros++;
+            }
+        }
+
+        assertTrue(zeros > 3_000, "The smallest size should be the most frequent under Zipf (got " + zeros + ")");
+    }
+
+    @Test
+    void testConfiguredAlphabet() throws Exception {
+        Generator alphanumeric = Generator.builder().alphabet(Alphabet.ALPHANUMERIC).build();
+        for (int i = 0; i < 50; i++) {
+            String value = (String) alphanumeric.generateValueOfType(String.class);
+            assertTrue(value.chars().allMatch(Character::isLetterOrDigit),
+                    "Alphanumeric strings should contain only letters and digits: " + value);
+        }
+
+        Generator cyrillic = Generator.builder().alphabet(Alphabet.range('\u0430', '\u044f')).build();
+        String value = (String) cyrillic.generateValueOfType(String.class);
+        assertTrue(value.chars().allMatch(c -> c >= '\u0430' && c <= '\u044f'),
+                "Unicode range alphabet should be respected: " + value);
+
+        assertThrows(IllegalArgumentException.class, () -> Alphabet.of("ab\uD83D\uDE00"),
+                "Supplementary characters would be drawn as lone surrogates");
+        assertThrows(IllegalArgumentException.class, () -> Alphabet.of("ab\uDC00"));
+    }
+
+    @Test
+    void testStringPoolBoundsCardinality() throws Exception {
+        Generator pooled = Generator.builder()
+                .stringPool(Product.class, "name", 4)
+                .build();
+
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            names.add(((Product) pooled.generateValueOfType(Product.class)).getName());
+        }
+
+        assertTrue(names.size() <= 4, "Pooled Product names should have at most 4 distinct values");
+    }
+
+    @Generatable
+    static class Chain {
+        final int value;
+        final Chain next;
+
+        Chain(int value, Chain next) {
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    @Test
+    void testIterativeTraversalGeneratesAllExampleClasses() throws Exception {
+        Generator iterative = Generator.builder().traversal(Traversal.ITERATIVE).build();
+
+        assertNotNull(iterative.generateValueOfType(Example.class), "Example should generate");
+        assertNotNull(iterative.generateValueOfType(Shape.class), "Shape interface should generate");
+        assertNotNull(iterative.generateValueOfType(BinaryTreeNode.class), "BinaryTreeNode should generate");
+        assertNotNull(iterative.generateValueOfType(Inventory.class), "Inventory should generate");
+
+        Product product = (Product) iterative.generateValueOfType(Product.class);
+        assertNotEquals(Double.MIN_VALUE, product.getPrice(), "Iterative traversal should use the 2-parameter constructor");
+
+        for (Product item : ((Cart) iterative.generateValueOfType(Cart.class)).getItems()) {
+            assertNotNull(item.getName(), "Cart items should be fully generated");
+        }
+
+        Person person = (Person) iterative.generateValueOfType(Person.class);
+        assertNotNull(person.getAddress(), "Person address should be generated");
+        assertNull(person.getAddress().getOwner(), "Iterative traversal should also break the Person -> Address cycle");
+    }
+
+    @Test
+    void testIterativeTraversalBuildsDeepGraphsOnSmallStack() throws Exception {
+        Generator deep = Generator.builder()
+                .traversal(Traversal.ITERATIVE)
+                .cyclePolicy(CyclePolicy.UNROLL)
+                .unrollProbability(1.0)
+                .maxDepth(20_000)
+                .build();
+
+        Object[] result = new Object[1];
+        Throwable[] failure = new Throwable[1];
+        Thread worker = new Thread(null, () -> {
+            try {
+                result[0] = deep.generateValueOfType(Chain.class);
+            } catch (Throwable e) {
+                failure[0] = e;
+            }
+        }, "small-stack", 128 * 1024);
+        worker.start();
+        worker.join();
+
+        assertNull(failure[0], "Deep generation should not overflow a 128 KB stack");
+        int length = 0;
+        for (Chain chain = (Chain) result[0]; chain != null; chain = chain.next) {
+            length++;
+        }
+        assertEquals(20_001, length, "Chain should be unrolled down to the configured max depth");
+    }
+
+    @Test
+    void testLinkPolicyBackPatchesCyclicReferences() throws Exception {
+        for (Traversal traversal : Traversal.values()) {
+            Generator linking = Generator.builder()
+                    .traversal(traversal)
+                    .cyclePolicy(CyclePolicy.LINK)
+                    .build();
+
+            Person person = (Person) linking.generateValueOfType(Person.class);
+            assertNotNull(person.getAddress(), "Person address should be generated");
+            assertSame(person, person.getAddress().getOwner(),
+                    "Address owner should be linked back to the person under " + traversal);
+        }
+    }
+
+    @Test
+    void testReuseProbabilitySharesInstancesOfTheSameType() throws Exception {
+        Generator sharing = Generator.builder()
+                .reuseProbability(1.0)
+                .collectionSize(SizeDistribution.fixed(10))
+                .build();
+
+        List<Product> items = ((Cart) sharing.generateValueOfType(Cart.class)).getItems();
+        assertEquals(10, items.size());
+        for (Product item : items) {
+            assertSame(items.get(0), item, "Every item should reuse the first generated Product");
+        }
+
+        Cart other = (Cart) sharing.generateValueOfType(Cart.class);
+        assertNotSame(items.get(0), other.getItems().get(0), "Instances should not be shared across root objects");
+    }
+
+    @Test
+    void testContextReleaseDropsTheLastRootGraph() {
+        GenerationContext context = new GenerationContext(new SplittableRandom(1), 4);
+        context.remember(Product.class, new Product("kept", 1));
+        assertTrue(context.enter(2));
+
+        context.release();
+        assertNull(context.random(), "The root's random stream should not outlive it");
+        assertTrue(context.enter(2), "The generation path should be cleared");
+        assertNull(context.reset(new SplittableRandom(2)).reuse(Product.class, 1.0),
+                "Instances of the last root should no longer be reachable");
+    }
+
+    @Generatable
+    static class Settings {
+        private String label;
+        private long retries;
+        private List<Product> items;
+        private transient boolean labelSetterCalled;
+
+        void setLabel(String label) {
+            this.label = label;
+            this.labelSetterCalled = true;
+        }
+    }
+
+    @Generatable
+    static class Badge {
+        private String owner;
+        private int level;
+        private transient int ownerWrites;
+
+        Badge(String owner) {
+            this.owner = owner;
+        }
+
+        void setOwner(String owner) {
+            this.owner = owner;
+            this.ownerWrites++;
+        }
+
+        void setLevel(int level) {
+            this.level = level;
+        }
+    }
+
+    @Generatable
+    static class Endpoint {
+        private String url;
+        private transient String setterValue;
+
+        void setURL(String url) {
+            this.url = url;
+            this.setterValue = url;
+        }
+    }
+
+    @Test
+    void testSetterPopulationUsesCheapConstructorAndSetters() throws Exception {
+        for (Traversal traversal : Traversal.values()) {
+            Generator setters = Generator.builder()
+                    .populationStrategy(PopulationStrategy.SETTERS)
+                    .traversal(traversal)
+                    .build();
+
+            for (int i = 0; i < 20; i++) {
+                Product product = (Product) setters.generateValueOfType(Product.class);
+                assertNotNull(product.getName(), "Name should be set");
+                assertNotEquals(Double.MIN_VALUE, product.getPrice(), "Price should be written through setPrice under " + traversal);
+            }
+
+            Badge badge = (Badge) setters.generateValueOfType(Badge.class);
+            assertNotNull(badge.owner, "Owner should come from the constructor");
+            assertEquals(0, badge.ownerWrites, "Properties the constructor received should not be set again under " + traversal);
+        }
+    }
+
+    @Test
+    void testSetterPropertiesFollowBeanNaming() throws Exception {
+        Generator auto = Generator.builder().populationStrategy(PopulationStrategy.AUTO).build();
+
+        for (int i = 0; i < 20; i++) {
+            Endpoint endpoint = (Endpoint) auto.generateValueOfType(Endpoint.class);
+            assertNotNull(endpoint.setterValue, "setURL should populate the url property");
+            assertSame(endpoint.setterValue, endpoint.url, "The url field is covered by setURL and should not be written again");
+        }
+    }
+
+    @Test
+    void testAutoPopulationFillsClassesWithoutRichConstructor() throws Exception {
+        for (Traversal traversal : Traversal.values()) {
+            Generator auto = Generator.builder()
+                    .populationStrategy(PopulationStrategy.AUTO)
+                    .traversal(traversal)
+                    .collectionSize(SizeDistribution.fixed(3))
+                    .build();
+
+            Settings settings = (Settings) auto.generateValueOfType(Settings.class);
+            assertNotNull(settings.label, "Label should be populated");
+            assertTrue(settings.labelSetterCalled, "Properties with a setter should go through it");
+            assertEquals(3, settings.items.size(), "Generic fields should use the collection producers");
+            settings.items.forEach(item -> assertNotNull(item.getName(), "Nested items should be generated"));
+            assertRetriesPopulated(auto);
+
+            Product product = (Product) auto.generateValueOfType(Product.class);
+            assertNotEquals(Double.MIN_VALUE, product.getPrice(), "AUTO should keep using a rich constructor when one exists");
+        }
+    }
+
+    @Test
+    void testFieldPopulationWritesFieldsDirectly() throws Exception {
+        Generator fields = Generator.builder()
+                .populationStrategy(PopulationStrategy.FIELDS)
+                .build();
+
+        Settings settings = (Settings) fields.generateValueOfType(Settings.class);
+        assertNotNull(settings.label, "Label should be written through its field");
+        assertFalse(settings.labelSetterCalled, "FIELDS should bypass the label setter");
+        assertNotNull(settings.items, "Items should be written through their field");
+        assertRetriesPopulated(fields);
+    }
+
+    // Retries are drawn from [-999, 999], so a single zero is possible but twenty in a row are not
+    private static void assertRetriesPopulated(Generator generator) throws Exception {
+        boolean populated = false;
+        for (int i = 0; i < 20 && !populated; i++) {
+            populated = ((Settings) generator.generateValueOfType(Settings.class)).retries != 0;
+        }
+        assertTrue(populated, "The long retries field should be populated");
+    }
+
+    sealed interface Vehicle permits Car, Fleet, Vehicle.Bike, Rental, Truck {
+        @Generatable
+        record Bike(String brand, boolean electric) implements Vehicle {
+        }
+    }
+
+    @Generatable
+    record Car(String model, int seats, List<String> owners) implements Vehicle {
+        Car(String model) {
+            this(model, 4, List.of());
+        }
+    }
+
+    abstract static sealed class Fleet implements Vehicle permits Convoy {
+    }
+
+    @Generatable
+    static final class Convoy extends Fleet {
+        final Car lead;
+
+        Convoy(Car lead) {
+            this.lead = lead;
+        }
+    }
+
+    @Generatable
+    static sealed class Truck implements Vehicle permits Tanker {
+        final int axles;
+
+        Truck(int axles) {
+            this.axles = axles;
+        }
+    }
+
+    @Generatable
+    static final class Tanker extends Truck {
+        final double capacity;
+
+        Tanker(int axles, double capacity) {
+            super(axles);
+            this.capacity = capacity;
+        }
+    }
+
+    non-sealed interface Rental extends Vehicle {
+    }
+
+    @Generatable
+    record Scooter(int range) implements Rental {
+    }
+
+    @Test
+    void testSealedHierarchiesResolveFromPermittedSubclasses() throws Exception {
+        Generator sealed = Generator.builder().scanPackages("org.example.missing").build();
+
+        Set<Class<?>> generated = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            Object vehicle = sealed.generateValueOfType(Vehicle.class);
+            assertNotNull(vehicle, "Sealed interface should resolve to a permitted subclass");
+            generated.add(vehicle.getClass());
+        }
+        assertEquals(Set.of(Car.class, Vehicle.Bike.class, Convoy.class, Scooter.class, Truck.class, Tanker.class), generated,
+                "Every permitted subclass, including those of nested sealed classes and non-sealed interfaces, should be generated");
+    }
+
+    @Test
+    void testRecordsUseTheirCanonicalConstructor() throws Exception {
+        Generator records = Generator.builder()
+                .collectionSize(SizeDistribution.fixed(2))
+                .intRange(10, 20)
+                .generatedFactories(false)
+                .build();
+
+        for (int i = 0; i < 20; i++) {
+            Car car = (Car) records.generateValueOfType(Car.class);
+            assertNotNull(car.model(), "Record component should be generated");
+            assertTrue(car.seats() >= 10 && car.seats() < 20, "Seats should come from the generator, not the delegating constructor");
+            assertEquals(2, car.owners().size(), "Generic record components should keep their type arguments");
+        }
+    }
 }
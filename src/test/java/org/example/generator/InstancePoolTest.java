@@ -0,0 +1,102 @@
+package org.example.generator;
+
+import org.example.classes.Product;
+import org.example.classes.Rectangle;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstancePoolTest {
+    @Test
+    void testReleasedInstancesComeBackReRandomized() {
+        InstancePool<Product> pool = Generator.builder().seed(31).build().pool(Product.class, 2);
+        assertEquals(2, pool.available());
+
+        Product first = pool.acquire();
+        String name = first.getName();
+        double price = first.getPrice();
+        pool.release(first);
+
+        Product again = pool.acquire();
+        assertSame(first, again, "The most recently released instance is reused");
+        assertNotEquals(price, again.getPrice());
+        assertNotEquals(name, again.getName());
+    }
+
+    @Test
+    void testEmptyPoolConstructsAndFullPoolDrops() {
+        InstancePool<Rectangle> pool = new Generator().pool(Rectangle.class, 1);
+        Rectangle pooled = pool.acquire();
+        Rectangle extra = pool.acquire();
+        assertNotSame(pooled, extra);
+        assertEquals(0, pool.available());
+
+        pool.release(pooled);
+        pool.release(extra);
+        assertEquals(1, pool.available(), "Releases beyond the capacity are not retained");
+    }
+
+    @Test
+    void testRecyclingNeverConstructsWhileInstancesAreAvailable() {
+        InstancePool<Product> pool = Generator.builder().stringPool(Product.class, "name", 16).build().pool(Product.class, 3);
+        Set<Product> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Product> held = new ArrayList<>();
+        for (int round = 0; round < 1000; round++) {
+            for (int i = 0; i < 3; i++) {
+                held.add(pool.acquire());
+            }
+            seen.addAll(held);
+            held.forEach(pool::release);
+            held.clear();
+        }
+        assertEquals(3, seen.size(), "Only the pre-built instances should ever be handed out");
+        assertEquals(3, pool.available());
+    }
+
+    @Test
+    void testPoolsRewriteConstructorStateThroughMatchingMembers() {
+        assertThrows(IllegalArgumentException.class, () -> new Generator().pool(Gauge.class, 1),
+                "A parameter with no field or setter of its name cannot be re-randomized");
+
+        InstancePool<Product> pool = Generator.builder().populationStrategy(PopulationStrategy.SETTERS).build().pool(Product.class, 1);
+        Product product = pool.acquire();
+        String name = product.getName();
+        pool.release(product);
+        assertNotEquals(name, pool.acquire().getName(), "The constructor's name should be redrawn through its field");
+    }
+
+    @Test
+    void testImmutableTypesAreRejected() {
+        Generator generator = new Generator();
+        assertThrows(IllegalArgumentException.class, () -> generator.pool(Point.class, 4));
+        assertThrows(IllegalArgumentException.class, () -> generator.pool(Label.class, 4));
+    }
+
+    @Generatable
+    record Point(int x, int y) {
+    }
+
+    @Generatable
+    static class Gauge {
+        private int value;
+
+        Gauge(int reading) {
+            this.value = reading;
+        }
+    }
+
+    @Generatable
+    static class Label {
+        final String text;
+
+        Label(String text) {
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.generator;
+
+import org.example.classes.Cart;
+import org.example.classes.Product;
+import org.example.classes.Shape;
+import org.example.classes.Triangle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutputFormatTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testJsonLinesMatchGeneratedObjects() throws Exception {
+        Path file = tempDir.resolve("products.jsonl");
+        Generator.builder().seed(11).build().write(Product.class, 50, OutputFormat.JSON_LINES, file);
+
+        List<Product> expected = Generator.builder().seed(11).build().generate(Product.class, 50);
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(50, lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            Product product = expected.get(i);
+            assertEquals("{\"name\":\"" + product.getName() + "\",\"price\":" + product.getPrice() + "}", lines.get(i),
+                    "Record #" + i + " should hold the values the same seed generates as objects");
+        }
+    }
+
+    @Test
+    void testJsonLinesWriteNestedCollectionsAndVariants() throws Exception {
+        Path file = tempDir.resolve("shapes.jsonl");
+        Generator.builder().seed(3).build().write(Shape.class, 20, OutputFormat.JSON_LINES, file);
+
+        for (String line : Files.readAllLines(file)) {
+            assertTrue(line.startsWith("{\"@type\":\"org.example.classes."), "Interface records should name their implementation: " + line);
+        }
+
+        Path carts = tempDir.resolve("carts.jsonl");
+        Generator.builder().collectionSize(SizeDistribution.fixed(2)).build().write(Cart.class, 5, OutputFormat.JSON_LINES, carts);
+        for (String line : Files.readAllLines(carts)) {
+            assertTrue(line.matches("\\{\"items\":\\[\\{\"name\":\"[a-z]+\",\"price\":[0-9.E-]+},\\{\"name\":\"[a-z]+\",\"price\":[0-9.E-]+}]}"),
+                    "Cart should be written with its nested items: " + line);
+        }
+    }
+
+    @Test
+    void testCsvWritesHeaderAndQuotesNestedValues() throws Exception {
+        Path file = tempDir.resolve("carts.csv");
+        Generator.builder().collectionSize(SizeDistribution.fixed(1)).build().write(Cart.class, 10, OutputFormat.CSV, file);
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(11, lines.size(), "CSV should have a header and one row per record");
+        assertEquals("\"items\"", lines.get(0));
+        for (String row : lines.subList(1, lines.size())) {
+            assertTrue(row.matches("\"\\[\\{\"\"name\"\":\"\"[a-z]+\"\",\"\"price\"\":[0-9.E-]+}]\""),
+                    "Nested values should be JSON with doubled quotes inside one cell: " + row);
+        }
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new Generator().write(Shape.class, 1, OutputFormat.CSV, tempDir.resolve("shapes.csv")),
+                "Interfaces have no fixed column set");
+    }
+
+    @Test
+    void testBinaryWritesFixedWidthPrimitives() throws Exception {
+        Path file = tempDir.resolve("triangles.bin");
+        Generator.builder().seed(5).build().write(Triangle.class, 1000, OutputFormat.BINARY, file);
+
+        List<Triangle> expected = Generator.builder().seed(5).build().generate(Triangle.class, 1000);
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        assertEquals(1000 * (1 + 3 * Double.BYTES), buffer.remaining(), "Each record is a presence byte and three doubles");
+        for (Triangle triangle : expected) {
+            assertEquals(1, buffer.get());
+            assertEquals(triangle.getPerimeter(), buffer.getDouble() + buffer.getDouble() + buffer.getDouble(), 1e-9);
+        }
+    }
+
+    @Test
+    void testBinaryPrefixesVariantsWithTheirIndex() throws Exception {
+        Path file = tempDir.resolve("shapes.bin");
+        Generator.builder().seed(9).build().write(Shape.class, 200, OutputFormat.BINARY, file);
+
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        for (int i = 0; i < 200; i++) {
+            int variant = buffer.getInt();
+            assertTrue(variant == 0 || variant == 1, "Shape has two implementations, got index " + variant);
+            assertEquals(1, buffer.get());
+            buffer.position(buffer.position() + (variant == 0 ? 2 : 3) * Double.BYTES);
+        }
+        assertFalse(buffer.hasRemaining());
+    }
+}